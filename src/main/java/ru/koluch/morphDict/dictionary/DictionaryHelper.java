@@ -7,16 +7,23 @@
  */
 package ru.koluch.morphDict.dictionary;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import ru.koluch.morphDict.dictionary.data.Dictionary;
 import ru.koluch.morphDict.dictionary.data.LexemeRec;
 import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.prefixTree.BloomFilter;
 import ru.koluch.morphDict.prefixTree.PrefixTree;
 import static ru.koluch.morphDict.dictionary.Attribute.*;
 
@@ -38,91 +45,225 @@ public class DictionaryHelper {
      * @throws ParseException thrown when parsing failed
      */
     public static Dictionary parse(Reader reader) throws ParseException {
+        return parse(reader, LoadListener.NONE);
+    }
+
+    /**
+     * Parse morphs.mrd file through supplied reader and build dictionary, reporting progress to listener
+     *
+     * @param reader reader with morphs.mrd file content
+     * @param listener listener of load phases and progress
+     * @return parsed dictionary
+     * @throws ParseException thrown when parsing failed
+     */
+    public static Dictionary parse(Reader reader, LoadListener listener) throws ParseException {
+        return parse(new LineReader(reader), listener);
+    }
+
+    /**
+     * Parse morphs.mrd file (UTF-8 encoded) from supplied channel and build dictionary. Channel is read through
+     * large direct buffer, so it's faster than parsing through {@link Reader}
+     *
+     * @param channel channel with morphs.mrd file content
+     * @param listener listener of load phases and progress
+     * @return parsed dictionary
+     * @throws ParseException thrown when parsing failed
+     */
+    public static Dictionary parse(ReadableByteChannel channel, LoadListener listener) throws ParseException {
+        return parse(new LineReader(channel), listener);
+    }
 
-        try(BufferedReader fin = new BufferedReader(reader)) {
+    /**
+     * Parse morphs.mrd file (UTF-8 encoded) and build dictionary. Gzip-compressed file is detected by its
+     * signature and decompressed on the fly
+     *
+     * @param path path to morphs.mrd file
+     * @return parsed dictionary
+     * @throws ParseException thrown when parsing failed
+     */
+    public static Dictionary parse(Path path) throws ParseException {
+        return parse(path, LoadListener.NONE);
+    }
+
+    /**
+     * Parse morphs.mrd file (UTF-8 encoded) and build dictionary, reporting progress to listener. Gzip-compressed
+     * file is detected by its signature and decompressed on the fly, in this case progress reports compressed
+     * bytes read
+     *
+     * @param path path to morphs.mrd file
+     * @param listener listener of load phases and progress
+     * @return parsed dictionary
+     * @throws ParseException thrown when parsing failed
+     */
+    public static Dictionary parse(Path path, LoadListener listener) throws ParseException {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                ByteBuffer signature = ByteBuffer.allocate(4);
+                while(signature.hasRemaining() && channel.read(signature) != -1) {
+                    // Read until signature is filled or file is over
+                }
+                channel.position(0);
+
+                if(signature.position() >= 2 && (signature.get(0) & 0xFF) == 0x1F && (signature.get(1) & 0xFF) == 0x8B) {
+                    CountingChannel counter = new CountingChannel(channel);
+                    InputStream gzip = new GZIPInputStream(Channels.newInputStream(counter), 1 << 16);
+                    LoadListener compressedProgress = new LoadListener() {
+                        @Override
+                        public void phaseStarted(LoadPhase phase) {
+                            listener.phaseStarted(phase);
+                        }
 
+                        @Override
+                        public void phaseFinished(LoadPhase phase, long records, long nanos) {
+                            listener.phaseFinished(phase, records, nanos);
+                        }
+
+                        @Override
+                        public void progress(LoadPhase phase, long records, long totalRecords, long inputRead) {
+                            listener.progress(phase, records, totalRecords, counter.count);
+                        }
+                    };
+                    return parse(new LineReader(Channels.newChannel(gzip)), compressedProgress);
+                }
+                if(signature.position() == 4 && signature.getInt(0) == ZSTD_MAGIC) {
+                    throw new ParseException("Zstandard-compressed dictionaries are not supported: " + path);
+                }
+                return parse(new LineReader(channel), listener);
+            } finally {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            throw new ParseException(ex);
+        }
+    }
+
+    /**
+     * Zstandard frame signature, read as big-endian int
+     */
+    private static final int ZSTD_MAGIC = 0x28B52FFD;
+
+    private static Dictionary parse(LineReader fin, LoadListener listener) throws ParseException {
+
+        try(LineReader lines = fin) {
+
+            long start = startPhase(listener, LoadPhase.PARADIGMS);
             List<List<ParadigmRule>> allRules = new ArrayList<>();
-            int num = Integer.valueOf(fin.readLine());
-            Pattern paradigmListEx = Pattern.compile("\\%([^\\%]+)");
-            Pattern paradigmEx = Pattern.compile("([^\\*]+)?\\*([^\\*]+)(?:\\*([^\\*]+))?");
+            int num = Integer.valueOf(lines.readLine());
+            MrdScanner scanner = new MrdScanner();
             for (int i = 0; i < num; ++i) {
-                String nextString = fin.readLine();
-                Matcher matcher = paradigmListEx.matcher(nextString);
-
-                List<ParadigmRule> paradigmRules = new ArrayList<>();
-                while(matcher.find())
-                {
-                    String paradigmString = matcher.group(1);
-                    Matcher paradigmMatcher = paradigmEx.matcher(paradigmString);
-                    if(paradigmMatcher.find())
-                    {
-                        String ending = paradigmMatcher.group(1);
-                        String ancode = paradigmMatcher.group(2);  // Ancode is Anoshkin's code
-                        String prefix = paradigmMatcher.group(3);
-
-                        paradigmRules.add(new ParadigmRule(
-                                Optional.ofNullable(ending).map(String::toLowerCase),
-                                ancode,
-                                Optional.ofNullable(prefix).map(String::toLowerCase)
-                        ));
-                    }
+                if(!lines.next()) {
+                    throw new ParseException("Unexpected end of paradigms");
                 }
-
+                List<ParadigmRule> paradigmRules = scanner.paradigm(lines.line(), lines.length());
                 allRules.add(paradigmRules);
+                reportProgress(listener, LoadPhase.PARADIGMS, i + 1, num, lines.inputRead);
             }
+            finishPhase(listener, LoadPhase.PARADIGMS, num, start, lines.inputRead);
 
-            // Skip: accents, journal... //todo:implement
-            num = Integer.decode(fin.readLine());
+            // Read accent models
+            start = startPhase(listener, LoadPhase.ACCENTS);
+            List<byte[]> accentModels = new ArrayList<>();
+            num = Integer.decode(lines.readLine());
             for (int i = 0; i < num; ++i) {
-                fin.readLine();
+                if(!lines.next()) {
+                    throw new ParseException("Unexpected end of accent models");
+                }
+                accentModels.add(scanner.accentModel(lines.line(), lines.length()));
             }
-            num = Integer.decode(fin.readLine());
+            finishPhase(listener, LoadPhase.ACCENTS, num, start, lines.inputRead);
+
+            // Read user sessions
+            start = startPhase(listener, LoadPhase.SESSIONS);
+            List<String> userSessions = new ArrayList<>();
+            num = Integer.decode(lines.readLine());
             for (int i = 0; i < num; ++i) {
-                fin.readLine();
+                userSessions.add(lines.readLine());
             }
+            finishPhase(listener, LoadPhase.SESSIONS, num, start, lines.inputRead);
 
             // Read prefixes
+            start = startPhase(listener, LoadPhase.PREFIXES);
             ArrayList<String> prefixes = new ArrayList<>();
-            num = Integer.decode(fin.readLine());
+            num = Integer.decode(lines.readLine());
             for (int i = 0; i < num; ++i) {
-                prefixes.add(fin.readLine().toLowerCase());
+                prefixes.add(lines.readLine().toLowerCase());
             }
+            finishPhase(listener, LoadPhase.PREFIXES, num, start, lines.inputRead);
 
             // Read lexemes
+            start = startPhase(listener, LoadPhase.LEXEMES);
             List<LexemeRec> lexemeRecs = new ArrayList<>();
-            num = Integer.decode(fin.readLine());
+            num = Integer.decode(lines.readLine());
 
             for (int i = 0; i < num; ++i) {
-                String lem = fin.readLine();
-
-                String[] lemParts = lem.split(" ");
-
-                String basis = lemParts[0];
-                Integer paradigmNum = Integer.valueOf(lemParts[1]);
-                Integer accentParadigmNum = Integer.valueOf(lemParts[2]);
-                Integer userSessionNum = Integer.valueOf(lemParts[3]);
-                String anc = lemParts[4].equals("-") ? null : lemParts[4];
-                Integer prefixParadigmNum = lemParts[5].equals("-") ? null : Integer.valueOf(lemParts[5]);
-
-                lexemeRecs.add(new LexemeRec(
-                        basis.toLowerCase(),
-                        paradigmNum,
-                        Optional.ofNullable(anc),
-                        accentParadigmNum,
-                        userSessionNum,
-                        Optional.ofNullable(prefixParadigmNum)
-                ));
+                if(!lines.next()) {
+                    throw new ParseException("Unexpected end of lexemes");
+                }
+                lexemeRecs.add(scanner.lexeme(lines.line(), lines.length()));
 
+                reportProgress(listener, LoadPhase.LEXEMES, i + 1, num, lines.inputRead);
             }
+            finishPhase(listener, LoadPhase.LEXEMES, num, start, lines.inputRead);
 
-            return new Dictionary(allRules, lexemeRecs, prefixes);
+            return new Dictionary(allRules, lexemeRecs, prefixes, accentModels, userSessions);
 
         } catch (IOException ex) {
             throw new ParseException(ex);
         }
     }
 
+    /**
+     * Progress is reported once per this number of records
+     */
+    private static final int PROGRESS_STEP = 10000;
+
+    private static long startPhase(LoadListener listener, LoadPhase phase) {
+        listener.phaseStarted(phase);
+        return System.nanoTime();
+    }
+
+    private static void reportProgress(LoadListener listener, LoadPhase phase, long records, long totalRecords, long inputRead) {
+        if(records % PROGRESS_STEP == 0 && records != totalRecords) {
+            listener.progress(phase, records, totalRecords, inputRead);
+        }
+    }
+
+    private static void finishPhase(LoadListener listener, LoadPhase phase, long records, long start, long inputRead) {
+        listener.progress(phase, records, records, inputRead);
+        listener.phaseFinished(phase, records, System.nanoTime() - start);
+    }
+
+    /**
+     * Channel, counting read bytes
+     */
+    private static class CountingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel channel;
+        long count;
+
+        CountingChannel(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int result = channel.read(dst);
+            if(result > 0) {
+                count += result;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
 
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
 
     public static class ParseException extends Exception {
         public ParseException() {
@@ -150,10 +291,86 @@ public class DictionaryHelper {
      */
 
     public static PrefixTree<TreeData> buildPrefixTree(Dictionary dictionary) {
-        PrefixTree<TreeData> result = new PrefixTree<>();
+        return buildPrefixTree(dictionary, LoadListener.NONE);
+    }
+
+    /**
+     * Build prefix tree for dictionary, reporting progress to listener as {@link LoadPhase#TREE} phase.
+     * Records of this phase are lexemes
+     */
+    public static PrefixTree<TreeData> buildPrefixTree(Dictionary dictionary, LoadListener listener) {
+        return buildPrefixTree(dictionary, PrefixTree.ALPHABET, listener);
+    }
+
+    /**
+     * Build prefix tree for dictionary of language with specified alphabet
+     */
+    public static PrefixTree<TreeData> buildPrefixTree(Dictionary dictionary, Alphabet alphabet) {
+        return buildPrefixTree(dictionary, alphabet, LoadListener.NONE);
+    }
 
-        Iterator<LexemeRec> lexemeRecIterator = dictionary.lexemeRecs.iterator();
-        int lexemeRecNum = 0;
+    /**
+     * Build prefix tree for dictionary of language with specified alphabet, reporting progress to listener as
+     * {@link LoadPhase#TREE} phase. Records of this phase are lexemes
+     */
+    public static PrefixTree<TreeData> buildPrefixTree(Dictionary dictionary, Alphabet alphabet, LoadListener listener) {
+        long start = startPhase(listener, LoadPhase.TREE);
+        PrefixTree<TreeData> result = new PrefixTree<>(alphabet);
+        addToPrefixTree(result, dictionary, dictionary.lexemeRecs, 0, listener, false);
+        finishPhase(listener, LoadPhase.TREE, dictionary.lexemeRecs.size(), start, 0);
+        return result;
+    }
+
+    /**
+     * Build prefix tree for dictionary together with filter over its keys, which lets lookups skip descent for
+     * words, which are definitely absent
+     *
+     * @param falsePositiveRate desired probability of "maybe present" answer of filter for absent word
+     */
+    public static FilteredPrefixTree buildPrefixTree(Dictionary dictionary, Alphabet alphabet, double falsePositiveRate) {
+        PrefixTree<TreeData> tree = buildPrefixTree(dictionary, alphabet);
+        return new FilteredPrefixTree(tree, BloomFilter.build(tree, falsePositiveRate));
+    }
+
+    /**
+     * Build suffix tree for dictionary: prefix tree over reversed word forms, with the same data as tree of
+     * {@link #buildPrefixTree(Dictionary)}
+     */
+    public static PrefixTree<TreeData> buildSuffixTree(Dictionary dictionary) {
+        return buildSuffixTree(dictionary, PrefixTree.ALPHABET);
+    }
+
+    /**
+     * Build suffix tree for dictionary of language with specified alphabet
+     */
+    public static PrefixTree<TreeData> buildSuffixTree(Dictionary dictionary, Alphabet alphabet) {
+        PrefixTree<TreeData> result = new PrefixTree<>(alphabet);
+        addToPrefixTree(result, dictionary, dictionary.lexemeRecs, 0, LoadListener.NONE, true);
+        return result;
+    }
+
+    /**
+     * Add word forms of lexemes to prefix tree. Lexemes don't have to belong to dictionary, but they should
+     * reference its paradigms and prefixes
+     *
+     * @param firstLexemeRecNum number of the first lexeme record, which is put to tree data
+     * @throws IllegalArgumentException if some word form contains letters outside of alphabet. Tree could be
+     * partially updated in this case
+     */
+    public static void addToPrefixTree(PrefixTree<TreeData> tree, Dictionary dictionary, List<LexemeRec> lexemeRecs, int firstLexemeRecNum) {
+        addToPrefixTree(tree, dictionary, lexemeRecs, firstLexemeRecNum, LoadListener.NONE, false);
+    }
+
+    /**
+     * @param reversed put word forms to tree in reverse order of letters
+     */
+    private static void addToPrefixTree(PrefixTree<TreeData> tree, Dictionary dictionary, List<LexemeRec> lexemeRecs, int firstLexemeRecNum, LoadListener listener, boolean reversed) {
+        int total = lexemeRecs.size();
+        Alphabet alphabet = tree.getAlphabet();
+        byte[] key = new byte[64];
+
+        Iterator<LexemeRec> lexemeRecIterator = lexemeRecs.iterator();
+        int lexemeRecNum = firstLexemeRecNum;
         while (lexemeRecIterator.hasNext()) {
             LexemeRec lexemeRec = lexemeRecIterator.next();
             List<ParadigmRule> paradigmRules = dictionary.paradigmList.get(lexemeRec.paradigmIndex);
@@ -163,17 +380,43 @@ public class DictionaryHelper {
             int paradigmNum = 0;
             while (paragirmRuleIterator.hasNext()) {
                 ParadigmRule paradigmRule = paragirmRuleIterator.next();
-                String wordForm = superPrefix + lexemeRec.basis + paradigmRule.ending.orElse("");
-                if(!(wordForm.contains("#") || wordForm.contains("-"))) { //todo: fix
+                String ending = paradigmRule.ending.orElse("");
+
+                // Encode word form right into key buffer, without building word form string
+                int length = superPrefix.length() + lexemeRec.basis.length() + ending.length();
+                if(key.length < length) {
+                    key = new byte[Math.max(length, key.length * 2)];
+                }
+                int keyLength = alphabet.encode(superPrefix, key, 0);
+                if(keyLength != -1) {
+                    keyLength = alphabet.encode(lexemeRec.basis, key, keyLength);
+                }
+                if(keyLength != -1) {
+                    keyLength = alphabet.encode(ending, key, keyLength);
+                }
+
+                if(keyLength != -1) {
+                    if(reversed) {
+                        for (int i = 0, j = keyLength - 1; i < j; i++, j--) {
+                            byte code = key[i];
+                            key[i] = key[j];
+                            key[j] = code;
+                        }
+                    }
                     TreeData treeData = new TreeData(paradigmNum, lexemeRecNum);
-                    result.add(wordForm, treeData);
+                    tree.add(key, keyLength, treeData);
+                }
+                else {
+                    String wordForm = superPrefix + lexemeRec.basis + ending;
+                    if(!(wordForm.contains("#") || wordForm.contains("-"))) { //todo: fix
+                        alphabet.encode(wordForm); // Throws exception for unsupported letters
+                    }
                 }
                 paradigmNum++;
             }
             lexemeRecNum++;
+            reportProgress(listener, LoadPhase.TREE, lexemeRecNum - firstLexemeRecNum, total, 0);
         }
-
-        return result;
     }
 
 
@@ -187,6 +430,21 @@ public class DictionaryHelper {
         }
     }
 
+    /**
+     * Prefix tree with filter over its keys
+     * <p>
+     * Immutable data-class
+     */
+    public static class FilteredPrefixTree {
+        public final PrefixTree<TreeData> tree;
+        public final BloomFilter filter;
+
+        public FilteredPrefixTree(PrefixTree<TreeData> tree, BloomFilter filter) {
+            this.tree = tree;
+            this.filter = filter;
+        }
+    }
+
     /*
         Working with attributes
      */
@@ -921,6 +1179,13 @@ public class DictionaryHelper {
 
 
 
+    /**
+     * @return true, if attributes of ancode are known, i.e. {@link #getAttributes(String)} could be called for it
+     */
+    public static boolean isKnownAncode(String ancode) {
+        return ancodeToAttributes.containsKey(ancode);
+    }
+
     /**
      * Return attributes associeted with specified ancode. Ancode is a short for "Anoshkin's code", 2-letters string,
      * specified for any wordform and for lexeme. You can lookup more information on aot.ru site, see links section
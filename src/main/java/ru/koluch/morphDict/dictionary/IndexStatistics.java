@@ -0,0 +1,364 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:55
+ */
+package ru.koluch.morphDict.dictionary;
+
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.prefixTree.NodeVisitor;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Statistics of dictionary index, for capacity planning: tree shape, payload sizes and estimated memory usage.
+ * <p>
+ * Memory is estimated for 64-bit JVM with compressed references and compact strings, so numbers are approximate.
+ * <p>
+ * Immutable data-class
+ */
+public class IndexStatistics {
+
+    public final long nodeCount;
+    public final long leafCount;
+    public final int maxDepth;
+
+    /**
+     * Number of nodes by number of their children
+     */
+    public final long[] fanOutHistogram;
+
+    /**
+     * Number of nodes by depth
+     */
+    public final long[] depthHistogram;
+
+    /**
+     * Maximal depth of subtree by code of its first letter
+     */
+    public final int[] maxDepthByFirstLetter;
+
+    /**
+     * Number of nodes holding data by size of their data lists
+     */
+    public final long[] payloadHistogram;
+
+    /**
+     * Number of lexemes by number of their word forms
+     */
+    public final long[] homonymHistogram;
+
+    /**
+     * Subtrees with the largest number of nodes among subtrees of same depth
+     */
+    public final List<Subtree> heaviestSubtrees;
+
+    /**
+     * Estimated size of tree nodes, branch arrays and data lists
+     */
+    public final long trieBytes;
+
+    /**
+     * Estimated size of dictionary lists and records, without strings
+     */
+    public final long dictionaryBytes;
+
+    /**
+     * Estimated size of dictionary strings
+     */
+    public final long stringBytes;
+
+    /**
+     * Alphabet of index keys
+     */
+    public final Alphabet alphabet;
+
+    public IndexStatistics(long nodeCount, long leafCount, int maxDepth, long[] fanOutHistogram, long[] depthHistogram,
+                           int[] maxDepthByFirstLetter, long[] payloadHistogram, long[] homonymHistogram,
+                           List<Subtree> heaviestSubtrees, long trieBytes, long dictionaryBytes, long stringBytes,
+                           Alphabet alphabet) {
+        this.nodeCount = nodeCount;
+        this.leafCount = leafCount;
+        this.maxDepth = maxDepth;
+        this.fanOutHistogram = fanOutHistogram;
+        this.depthHistogram = depthHistogram;
+        this.maxDepthByFirstLetter = maxDepthByFirstLetter;
+        this.payloadHistogram = payloadHistogram;
+        this.homonymHistogram = homonymHistogram;
+        this.heaviestSubtrees = heaviestSubtrees;
+        this.trieBytes = trieBytes;
+        this.dictionaryBytes = dictionaryBytes;
+        this.stringBytes = stringBytes;
+        this.alphabet = alphabet;
+    }
+
+    /**
+     * Subtree of index, identified by key prefix
+     * <p>
+     * Immutable data-class
+     */
+    public static class Subtree {
+        public final String prefix;
+        public final long nodeCount;
+        public final long dataCount;
+
+        public Subtree(String prefix, long nodeCount, long dataCount) {
+            this.prefix = prefix;
+            this.nodeCount = nodeCount;
+            this.dataCount = dataCount;
+        }
+    }
+
+    /**
+     * Compute statistics, reporting 10 heaviest subtrees of depth 2
+     */
+    public static IndexStatistics compute(Dictionary dictionary, PrefixTree<DictionaryHelper.TreeData> tree) {
+        return compute(dictionary, tree, 10, 2);
+    }
+
+    /**
+     * Compute statistics in one pass over tree and one pass over dictionary
+     *
+     * @param topN number of heaviest subtrees to report
+     * @param subtreeDepth depth of reported subtrees, i.e. length of their key prefix
+     */
+    public static IndexStatistics compute(Dictionary dictionary, PrefixTree<DictionaryHelper.TreeData> tree, int topN, int subtreeDepth) {
+        Alphabet alphabet = tree.getAlphabet();
+        TreeWalk walk = new TreeWalk(alphabet, topN, subtreeDepth);
+        tree.walk(walk);
+
+        List<Subtree> heaviestSubtrees = new ArrayList<>(walk.heaviest);
+        heaviestSubtrees.sort((a, b) -> Long.compare(b.nodeCount, a.nodeCount));
+
+        // Dictionary
+        long[] homonymHistogram = new long[16];
+        IdentityHashMap<String, Boolean> strings = new IdentityHashMap<>();
+        long dictionaryBytes = arrayListBytes(dictionary.paradigmList.size())
+                + arrayListBytes(dictionary.lexemeRecs.size())
+                + arrayListBytes(dictionary.prefixeParadigmList.size());
+        for (List<ParadigmRule> paradigmRules : dictionary.paradigmList) {
+            dictionaryBytes += arrayListBytes(paradigmRules.size());
+            for (ParadigmRule paradigmRule : paradigmRules) {
+                dictionaryBytes += align(12 + 3 * 4) + optionalBytes(paradigmRule.ending) + optionalBytes(paradigmRule.prefix);
+                paradigmRule.ending.ifPresent(s -> strings.put(s, true));
+                paradigmRule.prefix.ifPresent(s -> strings.put(s, true));
+                strings.put(paradigmRule.ancode, true);
+            }
+        }
+        for (LexemeRec lexemeRec : dictionary.lexemeRecs) {
+            dictionaryBytes += align(12 + 6 * 4) + optionalBytes(lexemeRec.ancode) + optionalBytes(lexemeRec.prefixParadigmIndex)
+                    + integerBytes(lexemeRec.paradigmIndex) + integerBytes(lexemeRec.accentParadigmIndex)
+                    + integerBytes(lexemeRec.userSessionIndex)
+                    + lexemeRec.prefixParadigmIndex.map(IndexStatistics::integerBytes).orElse(0L);
+            strings.put(lexemeRec.basis, true);
+            lexemeRec.ancode.ifPresent(s -> strings.put(s, true));
+            homonymHistogram = increment(homonymHistogram, dictionary.paradigmList.get(lexemeRec.paradigmIndex).size());
+        }
+        for (String prefix : dictionary.prefixeParadigmList) {
+            strings.put(prefix, true);
+        }
+        long stringBytes = 0;
+        for (String string : strings.keySet()) {
+            stringBytes += stringBytes(string);
+        }
+
+        return new IndexStatistics(
+                walk.nodeCount,
+                walk.leafCount,
+                walk.maxDepth,
+                walk.fanOutHistogram,
+                Arrays.copyOf(walk.depthHistogram, walk.maxDepth + 1),
+                walk.maxDepthByFirstLetter,
+                trim(walk.payloadHistogram),
+                trim(homonymHistogram),
+                Collections.unmodifiableList(heaviestSubtrees),
+                walk.trieBytes,
+                dictionaryBytes,
+                stringBytes,
+                alphabet
+        );
+    }
+
+    /**
+     * Statistics of tree, collected in one walk. Counters of subtree are summed up when walk leaves its nodes
+     */
+    private static class TreeWalk implements NodeVisitor<DictionaryHelper.TreeData> {
+        private final Alphabet alphabet;
+        private final int topN;
+        private final int subtreeDepth;
+
+        long nodeCount = 0;
+        long leafCount = 0;
+        int maxDepth = 0;
+        final long[] fanOutHistogram;
+        long[] depthHistogram = new long[16];
+        final int[] maxDepthByFirstLetter;
+        long[] payloadHistogram = new long[16];
+        long trieBytes = 0;
+        final PriorityQueue<Subtree> heaviest = new PriorityQueue<>((a, b) -> Long.compare(a.nodeCount, b.nodeCount));
+
+        // Counters of subtrees on the current path, by depth
+        private long[] subtreeNodes = new long[32];
+        private long[] subtreeData = new long[32];
+
+        TreeWalk(Alphabet alphabet, int topN, int subtreeDepth) {
+            this.alphabet = alphabet;
+            this.topN = topN;
+            this.subtreeDepth = subtreeDepth;
+            this.fanOutHistogram = new long[alphabet.size() + 1];
+            this.maxDepthByFirstLetter = new int[alphabet.size()];
+        }
+
+        @Override
+        public boolean enter(PrefixTree<DictionaryHelper.TreeData> node, byte[] key, int depth) {
+            nodeCount++;
+            maxDepth = Math.max(maxDepth, depth);
+            depthHistogram = increment(depthHistogram, depth);
+            if(depth > 0) {
+                maxDepthByFirstLetter[key[0]] = Math.max(maxDepthByFirstLetter[key[0]], depth);
+            }
+            if(depth == subtreeNodes.length) {
+                subtreeNodes = Arrays.copyOf(subtreeNodes, depth * 2);
+                subtreeData = Arrays.copyOf(subtreeData, depth * 2);
+            }
+            subtreeNodes[depth] = 1;
+            subtreeData[depth] = node.data == null ? 0 : node.data.size();
+
+            int fanOut = 0;
+            trieBytes += align(12 + 4 + 4);
+            if(node.branches != null) {
+                trieBytes += align(16 + 4L * node.branches.length);
+                for (PrefixTree branch : node.branches) {
+                    if(branch != null) {
+                        fanOut++;
+                    }
+                }
+            }
+            else {
+                leafCount++;
+            }
+            fanOutHistogram[fanOut]++;
+
+            if(node.data != null) {
+                payloadHistogram = increment(payloadHistogram, node.data.size());
+                trieBytes += arrayListBytes(node.data.size());
+                for (DictionaryHelper.TreeData treeData : node.data) {
+                    trieBytes += align(12 + 4 + 4) + integerBytes(treeData.lexemeRecNum) + integerBytes(treeData.paradigmNum);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void leave(PrefixTree<DictionaryHelper.TreeData> node, byte[] key, int depth) {
+            if(depth == subtreeDepth && topN > 0) {
+                heaviest.add(new Subtree(alphabet.decode(key, depth), subtreeNodes[depth], subtreeData[depth]));
+                if(heaviest.size() > topN) {
+                    heaviest.poll();
+                }
+            }
+            if(depth > 0) {
+                subtreeNodes[depth - 1] += subtreeNodes[depth];
+                subtreeData[depth - 1] += subtreeData[depth];
+            }
+        }
+    }
+
+    private static long[] increment(long[] histogram, int index) {
+        if(index >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(index + 1, histogram.length * 2));
+        }
+        histogram[index]++;
+        return histogram;
+    }
+
+    private static long[] trim(long[] histogram) {
+        int length = histogram.length;
+        while(length > 0 && histogram[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long arrayListBytes(int size) {
+        int capacity = 10;  // Default capacity, grown by half
+        while(capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return align(12 + 4 + 4 + 4) + align(16 + 4L * capacity);
+    }
+
+    private static long integerBytes(Integer value) {
+        return value >= -128 && value <= 127 ? 0 : 16;  // Small values are cached by Integer.valueOf
+    }
+
+    private static long optionalBytes(Optional<?> optional) {
+        return optional.isPresent() ? 16 : 0;
+    }
+
+    private static long stringBytes(String string) {
+        boolean latin1 = true;
+        for (int i = 0; i < string.length() && latin1; i++) {
+            latin1 = string.charAt(i) < 256;
+        }
+        return 24 + align(16 + (latin1 ? 1L : 2L) * string.length());
+    }
+
+    /**
+     * @return statistics as JSON object
+     */
+    public String toJson() {
+        StringBuilder result = new StringBuilder();
+        result.append("{\"nodeCount\":").append(nodeCount)
+                .append(",\"leafCount\":").append(leafCount)
+                .append(",\"maxDepth\":").append(maxDepth)
+                .append(",\"fanOutHistogram\":").append(Arrays.toString(fanOutHistogram).replace(" ", ""))
+                .append(",\"depthHistogram\":").append(Arrays.toString(depthHistogram).replace(" ", ""))
+                .append(",\"maxDepthByFirstLetter\":{");
+        for (int i = 0; i < maxDepthByFirstLetter.length; i++) {
+            if(i > 0) {
+                result.append(',');
+            }
+            result.append('"').append(alphabet.letter(i)).append("\":").append(maxDepthByFirstLetter[i]);
+        }
+        result.append("},\"payloadHistogram\":").append(Arrays.toString(payloadHistogram).replace(" ", ""))
+                .append(",\"homonymHistogram\":").append(Arrays.toString(homonymHistogram).replace(" ", ""))
+                .append(",\"heaviestSubtrees\":[");
+        for (int i = 0; i < heaviestSubtrees.size(); i++) {
+            Subtree subtree = heaviestSubtrees.get(i);
+            if(i > 0) {
+                result.append(',');
+            }
+            result.append("{\"prefix\":\"").append(subtree.prefix)
+                    .append("\",\"nodeCount\":").append(subtree.nodeCount)
+                    .append(",\"dataCount\":").append(subtree.dataCount)
+                    .append('}');
+        }
+        result.append("],\"bytes\":{\"trie\":").append(trieBytes)
+                .append(",\"dictionary\":").append(dictionaryBytes)
+                .append(",\"strings\":").append(stringBytes)
+                .append("}}");
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
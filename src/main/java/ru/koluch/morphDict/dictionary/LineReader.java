@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:00
+ */
+package ru.koluch.morphDict.dictionary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.MalformedInputException;
+import java.util.Arrays;
+
+/**
+ * Line reader for dictionary parsing. Reads either characters from {@link Reader}, or bytes from
+ * {@link ReadableByteChannel} through large direct buffer. Current line is kept in reusable char array, so parser
+ * could scan it without making string for every line.
+ * <p>
+ * Bytes of channel are scanned for line ends right away, and only then the line is decoded from UTF-8 by a simple
+ * loop, without {@link java.nio.charset.CharsetDecoder} and intermediate char buffer. Every field of a record goes
+ * to dictionary, so whole line is decoded; numbers are ASCII, so for them decoding is a plain copy.
+ * <p>
+ * Lines are terminated with '\n', '\r' or "\r\n", like in {@link java.io.BufferedReader}
+ * <p>
+ * Buffers are cast to {@link Buffer} before flip, clear, limit and position calls: since Java 9 these methods are
+ * overridden with covariant return types, and calls compiled against them fail on Java 8
+ */
+class LineReader implements Closeable {
+
+    private static final int BYTE_BUFFER_SIZE = 1 << 20;
+    private static final int CHAR_BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private final CharBuffer chars;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer bytes;
+    private byte[] window;          // bytes of channel, which are not consumed yet, are in [windowStart, windowEnd)
+    private int windowStart;
+    private int windowEnd;
+
+    private boolean eof;
+    private boolean skipLineFeed;
+
+    private char[] line = new char[256];
+    private int length;
+
+    /**
+     * Amount of input consumed: bytes for channel, characters for reader
+     */
+    long inputRead;
+
+    LineReader(Reader reader) {
+        this.reader = reader;
+        this.chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        this.channel = null;
+        this.bytes = null;
+        ((Buffer) chars).flip();
+    }
+
+    LineReader(ReadableByteChannel channel) {
+        this.reader = null;
+        this.chars = null;
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+        this.window = new byte[BYTE_BUFFER_SIZE];
+    }
+
+    /**
+     * Read next line
+     *
+     * @return false, if there are no more lines
+     */
+    boolean next() throws IOException {
+        return reader != null ? nextChars() : nextBytes();
+    }
+
+    private boolean nextChars() throws IOException {
+        length = 0;
+        boolean read = false;
+        while(true) {
+            if(!chars.hasRemaining() && !fill()) {
+                return read;
+            }
+            char[] array = chars.array();
+            int position = chars.position();
+            int limit = chars.limit();
+            if(skipLineFeed) {
+                skipLineFeed = false;
+                if(array[position] == '\n') {
+                    position++;
+                }
+            }
+            int start = position;
+            while(position < limit && array[position] != '\n' && array[position] != '\r') {
+                position++;
+            }
+            append(array, start, position - start);
+            read = true;
+            if(position < limit) {
+                skipLineFeed = array[position] == '\r';
+                ((Buffer) chars).position(position + 1);
+                return true;
+            }
+            ((Buffer) chars).position(position);
+        }
+    }
+
+    private boolean nextBytes() throws IOException {
+        length = 0;
+        int position = windowStart;
+        while(true) {
+            if(skipLineFeed && position < windowEnd) {
+                skipLineFeed = false;
+                if(window[position] == '\n') {
+                    windowStart = ++position;
+                }
+            }
+            while(position < windowEnd && window[position] != '\n' && window[position] != '\r') {
+                position++;
+            }
+            if(position < windowEnd) {
+                decode(windowStart, position);
+                skipLineFeed = window[position] == '\r';
+                windowStart = position + 1;
+                return true;
+            }
+            // Line is not complete yet: it's decoded only when all its bytes are read, so characters are never split
+            int scanned = position - windowStart;
+            if(!fillBytes()) {
+                if(windowStart == windowEnd) {
+                    return false;
+                }
+                decode(windowStart, windowEnd);
+                windowStart = windowEnd;
+                return true;
+            }
+            position = windowStart + scanned;
+        }
+    }
+
+    /**
+     * @return next line, or null if there are no more lines
+     */
+    String readLine() throws IOException {
+        return next() ? lineString() : null;
+    }
+
+    /**
+     * @return buffer with current line, valid until next call of {@link #next()}
+     */
+    char[] line() {
+        return line;
+    }
+
+    /**
+     * @return length of current line in buffer
+     */
+    int length() {
+        return length;
+    }
+
+    String lineString() {
+        return new String(line, 0, length);
+    }
+
+    private void append(char[] source, int from, int count) {
+        if(length + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(length + count, line.length * 2));
+        }
+        System.arraycopy(source, from, line, length, count);
+        length += count;
+    }
+
+    /**
+     * Decode UTF-8 bytes of window to line buffer
+     *
+     * @throws MalformedInputException if bytes are not valid UTF-8
+     */
+    private void decode(int from, int to) throws MalformedInputException {
+        if(to - from > line.length) {
+            line = new char[Math.max(to - from, line.length * 2)];   // Line never has more chars than bytes
+        }
+        byte[] source = window;
+        char[] target = line;
+        int count = 0;
+        int i = from;
+        while(i < to) {
+            int b = source[i];
+            if(b >= 0) {
+                target[count++] = (char) b;
+                i++;
+            }
+            else if((b & 0xE0) == 0xC0 && i + 1 < to && isContinuation(source[i + 1])) {
+                int c = (b & 0x1F) << 6 | source[i + 1] & 0x3F;
+                if(c < 0x80) {
+                    throw new MalformedInputException(1);
+                }
+                target[count++] = (char) c;
+                i += 2;
+            }
+            else if((b & 0xF0) == 0xE0 && i + 2 < to && isContinuation(source[i + 1]) && isContinuation(source[i + 2])) {
+                int c = (b & 0x0F) << 12 | (source[i + 1] & 0x3F) << 6 | source[i + 2] & 0x3F;
+                if(c < 0x800 || Character.isSurrogate((char) c)) {
+                    throw new MalformedInputException(1);
+                }
+                target[count++] = (char) c;
+                i += 3;
+            }
+            else if((b & 0xF8) == 0xF0 && i + 3 < to && isContinuation(source[i + 1]) && isContinuation(source[i + 2]) && isContinuation(source[i + 3])) {
+                int c = (b & 0x07) << 18 | (source[i + 1] & 0x3F) << 12 | (source[i + 2] & 0x3F) << 6 | source[i + 3] & 0x3F;
+                if(c < Character.MIN_SUPPLEMENTARY_CODE_POINT || c > Character.MAX_CODE_POINT) {
+                    throw new MalformedInputException(1);
+                }
+                target[count++] = Character.highSurrogate(c);
+                target[count++] = Character.lowSurrogate(c);
+                i += 4;
+            }
+            else {
+                throw new MalformedInputException(1);
+            }
+        }
+        length = count;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * Refill char buffer from reader
+     *
+     * @return false, if input is exhausted
+     */
+    private boolean fill() throws IOException {
+        ((Buffer) chars).clear();
+        int read = eof ? -1 : reader.read(chars.array(), 0, chars.capacity());
+        if(read <= 0) {
+            eof = true;
+            ((Buffer) chars).limit(0);
+            return false;
+        }
+        inputRead += read;
+        ((Buffer) chars).limit(read);
+        return true;
+    }
+
+    /**
+     * Read more bytes of channel to window, keeping its unconsumed bytes. Window grows, if a line doesn't fit it
+     *
+     * @return false, if input is exhausted
+     */
+    private boolean fillBytes() throws IOException {
+        if(eof) {
+            return false;
+        }
+        int remaining = windowEnd - windowStart;
+        if(remaining == window.length) {
+            window = Arrays.copyOf(window, window.length * 2);
+        }
+        else {
+            System.arraycopy(window, windowStart, window, 0, remaining);
+        }
+        windowStart = 0;
+        windowEnd = remaining;
+
+        ((Buffer) bytes).clear();
+        ((Buffer) bytes).limit(Math.min(bytes.capacity(), window.length - windowEnd));
+        int read;
+        do {
+            read = channel.read(bytes);
+        } while(read == 0);
+        if(read == -1) {
+            eof = true;
+            return false;
+        }
+        ((Buffer) bytes).flip();
+        bytes.get(window, windowEnd, read);
+        windowEnd += read;
+        inputRead += read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(reader != null) {
+            reader.close();
+        }
+        else {
+            channel.close();
+        }
+    }
+}
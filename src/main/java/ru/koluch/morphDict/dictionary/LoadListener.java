@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:57
+ */
+package ru.koluch.morphDict.dictionary;
+
+/**
+ * Listener of dictionary loading progress. All methods are called from the loading thread
+ */
+public interface LoadListener {
+
+    /**
+     * Listener, which ignores everything
+     */
+    LoadListener NONE = new LoadListener() {};
+
+    default void phaseStarted(LoadPhase phase) {
+    }
+
+    /**
+     * @param records number of records processed in phase
+     * @param nanos phase duration
+     */
+    default void phaseFinished(LoadPhase phase, long records, long nanos) {
+    }
+
+    /**
+     * Called periodically while phase is running, and once at the end of phase
+     *
+     * @param records number of records processed so far
+     * @param totalRecords total number of records in phase
+     * @param inputRead amount of input consumed so far: bytes for byte input, characters for {@link java.io.Reader}
+     */
+    default void progress(LoadPhase phase, long records, long totalRecords, long inputRead) {
+    }
+}
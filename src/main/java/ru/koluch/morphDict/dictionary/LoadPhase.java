@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:57
+ */
+package ru.koluch.morphDict.dictionary;
+
+/**
+ * Phases of dictionary loading, in order of execution
+ */
+public enum LoadPhase {
+    PARADIGMS, // paradigm table of morphs.mrd
+    ACCENTS, // accent models table
+    SESSIONS, // user sessions table
+    PREFIXES, // prefix table
+    LEXEMES, // lexemes table
+    TREE // building of prefix tree
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:57
+ */
+package ru.koluch.morphDict.dictionary;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load listener, collecting duration, number of records and garbage collection activity of every load phase.
+ * Optionally forwards all events to another listener, e.g. to report readiness
+ */
+public class LoadReport implements LoadListener {
+
+    /**
+     * Statistics of single phase
+     * <p>
+     * Immutable data-class
+     */
+    public static class PhaseStats {
+        public final long nanos;
+        public final long records;
+        public final long gcCount;
+        public final long gcMillis;
+
+        public PhaseStats(long nanos, long records, long gcCount, long gcMillis) {
+            this.nanos = nanos;
+            this.records = records;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+    }
+
+    private final LoadListener next;
+    private final Map<LoadPhase, PhaseStats> phases = new EnumMap<>(LoadPhase.class);
+    private long gcCountAtStart;
+    private long gcMillisAtStart;
+    private long inputRead;
+
+    public LoadReport() {
+        this(LoadListener.NONE);
+    }
+
+    /**
+     * @param next listener to forward all events to
+     */
+    public LoadReport(LoadListener next) {
+        this.next = next;
+    }
+
+    @Override
+    public void phaseStarted(LoadPhase phase) {
+        gcCountAtStart = gcCount();
+        gcMillisAtStart = gcMillis();
+        next.phaseStarted(phase);
+    }
+
+    @Override
+    public void phaseFinished(LoadPhase phase, long records, long nanos) {
+        phases.put(phase, new PhaseStats(nanos, records, gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart));
+        next.phaseFinished(phase, records, nanos);
+    }
+
+    @Override
+    public void progress(LoadPhase phase, long records, long totalRecords, long inputRead) {
+        this.inputRead = Math.max(this.inputRead, inputRead);
+        next.progress(phase, records, totalRecords, inputRead);
+    }
+
+    /**
+     * @return statistics of finished phases
+     */
+    public Map<LoadPhase, PhaseStats> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    /**
+     * @return amount of input consumed: bytes for byte input, characters for {@link java.io.Reader}
+     */
+    public long getInputRead() {
+        return inputRead;
+    }
+
+    /**
+     * @return total duration of finished phases, in nanoseconds
+     */
+    public long getTotalNanos() {
+        long result = 0;
+        for (PhaseStats phaseStats : phases.values()) {
+            result += phaseStats.nanos;
+        }
+        return result;
+    }
+
+    /**
+     * @return total garbage collection time during finished phases, in milliseconds
+     */
+    public long getTotalGcMillis() {
+        long result = 0;
+        for (PhaseStats phaseStats : phases.values()) {
+            result += phaseStats.gcMillis;
+        }
+        return result;
+    }
+
+    private static long gcCount() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            result += Math.max(bean.getCollectionCount(), 0);
+        }
+        return result;
+    }
+
+    private static long gcMillis() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            result += Math.max(bean.getCollectionTime(), 0);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("LoadReport{");
+        for (Map.Entry<LoadPhase, PhaseStats> entry : phases.entrySet()) {
+            PhaseStats stats = entry.getValue();
+            result.append(entry.getKey())
+                    .append("={ms=").append(TimeUnit.NANOSECONDS.toMillis(stats.nanos))
+                    .append(", records=").append(stats.records)
+                    .append(", gcCount=").append(stats.gcCount)
+                    .append(", gcMs=").append(stats.gcMillis)
+                    .append("}, ");
+        }
+        return result.append("inputRead=").append(inputRead).append('}').toString();
+    }
+}
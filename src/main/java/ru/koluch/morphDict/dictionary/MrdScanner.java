@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:02
+ */
+package ru.koluch.morphDict.dictionary;
+
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Scanner of morphs.mrd records. Works right on the line buffer of {@link LineReader}: fields are found by plain
+ * character scanning and numbers are parsed in place, so the only objects made per line are the ones which go to
+ * dictionary. Repeating strings (endings, ancodes, prefixes) are deduplicated without making temporary strings.
+ * <p>
+ * Scanner lowercases letters right in the line buffer
+ */
+class MrdScanner {
+
+    private String[] strings = new String[1024];    // open addressing hash table of deduplicated strings
+    private int stringCount;
+    private final Map<String, Optional<String>> optionals = new HashMap<>();
+
+    private char[] line;
+    private int length;
+    private int position;
+
+    /**
+     * Scan paradigm record: list of rules "%ending*ancode*prefix", where ending and prefix are optional
+     */
+    List<ParadigmRule> paradigm(char[] line, int length) {
+        List<ParadigmRule> rules = new ArrayList<>();
+        int position = indexOf(line, '%', 0, length);
+        while(position < length) {
+            int start = position + 1;
+            int end = indexOf(line, '%', start, length);
+            int ancodeStart = indexOf(line, '*', start, end) + 1;
+            int ancodeEnd = ancodeStart <= end ? indexOf(line, '*', ancodeStart, end) : ancodeStart;
+            if(ancodeStart < ancodeEnd) {  // Rules without ancode are ignored
+                Optional<String> prefix = Optional.empty();
+                if(ancodeEnd < end) {
+                    prefix = optional(line, ancodeEnd + 1, indexOf(line, '*', ancodeEnd + 1, end));
+                }
+                rules.add(new ParadigmRule(
+                        optional(line, start, ancodeStart - 1),
+                        string(line, ancodeStart, ancodeEnd),  // Ancode is Anoshkin's code
+                        prefix
+                ));
+            }
+            position = end;
+        }
+        return rules;
+    }
+
+    /**
+     * Scan accent model record: stress offsets separated by ';'
+     */
+    byte[] accentModel(char[] line, int length) throws DictionaryHelper.ParseException {
+        this.line = line;
+        this.length = length;
+        this.position = 0;
+
+        byte[] result = new byte[length / 2 + 1];
+        int count = 0;
+        while(position < length) {
+            int end = indexOf(line, ';', position, length);
+            if(end > position) {
+                int value = parseInt(end);
+                if(value > 255) {
+                    throw error("bad accent");
+                }
+                result[count++] = (byte) value;
+            }
+            position = end + 1;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Scan lexeme record: "basis paradigm accent session ancode|- prefix|-"
+     */
+    LexemeRec lexeme(char[] line, int length) throws DictionaryHelper.ParseException {
+        this.line = line;
+        this.length = length;
+        this.position = 0;
+
+        int basisEnd = fieldEnd();
+        String basis = new String(toLowerCase(line, 0, basisEnd), 0, basisEnd);
+        position = basisEnd + 1;
+        int paradigmNum = nextInt();
+        int accentParadigmNum = nextInt();
+        int userSessionNum = nextInt();
+        String ancode = isDash() ? null : string(line, position, fieldEnd());
+        position = fieldEnd() + 1;
+        Integer prefixParadigmNum = isDash() ? null : nextInt();
+
+        return new LexemeRec(
+                basis,
+                paradigmNum,
+                Optional.ofNullable(ancode),
+                accentParadigmNum,
+                userSessionNum,
+                Optional.ofNullable(prefixParadigmNum)
+        );
+    }
+
+    private int fieldEnd() throws DictionaryHelper.ParseException {
+        if(position >= length) {
+            throw error("missing field");
+        }
+        return indexOf(line, ' ', position, length);
+    }
+
+    private boolean isDash() throws DictionaryHelper.ParseException {
+        return fieldEnd() == position + 1 && line[position] == '-';
+    }
+
+    private int nextInt() throws DictionaryHelper.ParseException {
+        int end = fieldEnd();
+        if(end == position) {
+            throw error("empty number");
+        }
+        int result = parseInt(end);
+        position = end + 1;
+        return result;
+    }
+
+    private int parseInt(int end) throws DictionaryHelper.ParseException {
+        int result = 0;
+        for (int i = position; i < end; i++) {
+            int digit = line[i] - '0';
+            if(digit < 0 || digit > 9 || result > (Integer.MAX_VALUE - digit) / 10) {
+                throw error("bad number");
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private DictionaryHelper.ParseException error(String message) {
+        return new DictionaryHelper.ParseException("Bad record, " + message + ": " + new String(line, 0, length));
+    }
+
+    private Optional<String> optional(char[] chars, int from, int to) {
+        if(from == to) {
+            return Optional.empty();
+        }
+        return optionals.computeIfAbsent(string(toLowerCase(chars, from, to), from, to), Optional::of);
+    }
+
+    /**
+     * @return string with specified characters, the same instance for equal strings
+     */
+    private String string(char[] chars, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = strings.length - 1;
+        int index = mix(hash) & mask;
+        for (String candidate = strings[index]; candidate != null; candidate = strings[index]) {
+            if(equals(candidate, chars, from, to)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+        String result = new String(chars, from, to - from);
+        strings[index] = result;
+        if(++stringCount * 2 > strings.length) {
+            rehash();
+        }
+        return result;
+    }
+
+    private void rehash() {
+        String[] old = strings;
+        strings = new String[old.length * 2];
+        int mask = strings.length - 1;
+        for (String string : old) {
+            if(string != null) {
+                int index = mix(string.hashCode()) & mask;
+                while(strings[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                strings[index] = string;
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(String string, char[] chars, int from, int to) {
+        if(string.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if(string.charAt(i - from) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char[] toLowerCase(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return chars;
+    }
+
+    private static int indexOf(char[] chars, char c, int from, int to) {
+        int i = from;
+        while(i < to && chars[i] != c) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -19,10 +19,27 @@ public class Dictionary {
     public final List<LexemeRec> lexemeRecs;
     public final List<String> prefixeParadigmList;
 
+    /**
+     * Accent models: for every word form of paradigm, number of stressed vowel counted from the end of word
+     * (0 is the last vowel), 255 if stress is unknown
+     */
+    public final List<byte[]> accentModels;
+
+    /**
+     * Records of user sessions, which lexemes were edited in
+     */
+    public final List<String> userSessions;
+
     public Dictionary(List<List<ParadigmRule>> paradigmList, List<LexemeRec> lexemeRecList, List<String> prefixeParadigmList) {
+        this(paradigmList, lexemeRecList, prefixeParadigmList, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public Dictionary(List<List<ParadigmRule>> paradigmList, List<LexemeRec> lexemeRecList, List<String> prefixeParadigmList, List<byte[]> accentModels, List<String> userSessions) {
         this.paradigmList = paradigmList;
         this.lexemeRecs = lexemeRecList;
         this.prefixeParadigmList = prefixeParadigmList;
+        this.accentModels = accentModels;
+        this.userSessions = userSessions;
     }
 
 }
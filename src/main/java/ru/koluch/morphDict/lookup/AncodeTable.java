@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:44
+ */
+package ru.koluch.morphDict.lookup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table of dense integer ids for ancodes, so ancodes could be kept in primitive arrays.
+ * <p>
+ * Table is append-only: once registered, ancode keeps its id. It's thread-safe, so one table could be shared by
+ * several dictionaries
+ */
+public class AncodeTable {
+
+    /**
+     * Ids are stored as short values, so table can't grow beyond this size
+     */
+    public static final int MAX_SIZE = Short.MAX_VALUE + 1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private volatile String[] ancodes = new String[0];
+
+    /**
+     * Register ancode if it's not registered yet
+     *
+     * @return id of ancode
+     */
+    public synchronized int register(String ancode) {
+        Integer id = ids.get(ancode);
+        if(id == null) {
+            if(ancodes.length == MAX_SIZE) {
+                throw new IllegalStateException("Too many ancodes, maximum is " + MAX_SIZE);
+            }
+            id = ancodes.length;
+            ids.put(ancode, id);
+            String[] newAncodes = Arrays.copyOf(ancodes, id + 1);
+            newAncodes[id] = ancode;
+            ancodes = newAncodes;
+        }
+        return id;
+    }
+
+    /**
+     * @return id of ancode, or -1 if ancode is not registered
+     */
+    public synchronized int find(String ancode) {
+        Integer id = ids.get(ancode);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return ancode with specified id
+     */
+    public String get(int id) {
+        return ancodes[id];
+    }
+
+    /**
+     * @return number of registered ancodes
+     */
+    public int size() {
+        return ancodes.length;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:13
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.Attribute;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Filter of word forms by their attributes. Attributes are taken from ancode of word form, like
+ * {@link DictionaryHelper#getAttributes(String)} does; unknown ancodes have no attributes.
+ * <p>
+ * For lookups with {@link AncodeTable}, filter is compiled to a bitset of accepted ancode ids, so checking a word
+ * form is a single bit test. Filter is thread-safe and could be reused for any number of lookups
+ */
+public class AttributeFilter {
+
+    private final Predicate<Set<Attribute>> predicate;
+    private volatile Compiled compiled;
+
+    /**
+     * @param predicate predicate on attributes of word form
+     */
+    public AttributeFilter(Predicate<Set<Attribute>> predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * @return filter accepting word forms having all specified attributes
+     */
+    public static AttributeFilter all(Attribute... attributes) {
+        Set<Attribute> required = EnumSet.noneOf(Attribute.class);
+        required.addAll(Arrays.asList(attributes));
+        return new AttributeFilter(set -> set.containsAll(required));
+    }
+
+    /**
+     * @return filter accepting word forms having at least one of specified attributes
+     */
+    public static AttributeFilter any(Attribute... attributes) {
+        Set<Attribute> expected = EnumSet.noneOf(Attribute.class);
+        expected.addAll(Arrays.asList(attributes));
+        return new AttributeFilter(set -> !Collections.disjoint(set, expected));
+    }
+
+    /**
+     * @return true, if word form with specified ancode is accepted
+     */
+    public boolean matches(String ancode) {
+        Set<Attribute> attributes = DictionaryHelper.isKnownAncode(ancode)
+                ? DictionaryHelper.getAttributes(ancode)
+                : Collections.emptySet();
+        return predicate.test(attributes);
+    }
+
+    /**
+     * @return true, if word form with ancode of specified id is accepted
+     */
+    public boolean matches(AncodeTable ancodeTable, int ancodeId) {
+        Compiled current = compiled;
+        if(current == null || current.ancodeTable != ancodeTable || ancodeId >= current.size) {
+            current = compile(ancodeTable);
+            compiled = current;
+        }
+        return (current.bits[ancodeId >>> 6] & (1L << ancodeId)) != 0;
+    }
+
+    private Compiled compile(AncodeTable ancodeTable) {
+        int size = ancodeTable.size();
+        long[] bits = new long[(size + 63) / 64];
+        for (int id = 0; id < size; id++) {
+            if(matches(ancodeTable.get(id))) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return new Compiled(ancodeTable, size, bits);
+    }
+
+    /**
+     * Bitset of accepted ancode ids for one ancode table. Table is append-only, so bitset is rebuilt only when
+     * new ancodes appear
+     */
+    private static class Compiled {
+        final AncodeTable ancodeTable;
+        final int size;
+        final long[] bits;
+
+        Compiled(AncodeTable ancodeTable, int size, long[] bits) {
+            this.ancodeTable = ancodeTable;
+            this.size = size;
+            this.bits = bits;
+        }
+    }
+}
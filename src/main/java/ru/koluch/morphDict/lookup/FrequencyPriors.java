@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:14
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Prior probabilities of ancodes and paradigms, estimated from corpus counts. Log-probabilities are kept in
+ * primitive arrays indexed by ancode id and paradigm id, with add-one smoothing, so unseen ancodes and paradigms
+ * get small but non-zero probability.
+ * <p>
+ * Count file is a text file with lines "ancode &lt;ancode&gt; &lt;count&gt;" and
+ * "paradigm &lt;paradigm id&gt; &lt;count&gt;"; empty lines and lines starting with '#' are ignored, as well as ancodes
+ * unknown to ancode table.
+ * <p>
+ * Immutable data-class
+ */
+public class FrequencyPriors {
+
+    private final float[] ancodeLogPriors;          // ancode id -> log-probability
+    private final float unseenAncodeLogPrior;
+    private final float[] paradigmLogPriors;        // paradigm id -> log-probability
+    private final float unseenParadigmLogPrior;
+
+    /**
+     * @param ancodeCounts counts by ancode id
+     * @param paradigmCounts counts by paradigm id
+     */
+    public FrequencyPriors(long[] ancodeCounts, long[] paradigmCounts) {
+        this.ancodeLogPriors = logPriors(ancodeCounts);
+        this.unseenAncodeLogPrior = (float) Math.log(1.0 / (sum(ancodeCounts) + ancodeCounts.length + 1));
+        this.paradigmLogPriors = logPriors(paradigmCounts);
+        this.unseenParadigmLogPrior = (float) Math.log(1.0 / (sum(paradigmCounts) + paradigmCounts.length + 1));
+    }
+
+    /**
+     * Load counts from file
+     *
+     * @param templates templates of dictionary, which priors are going to be used with
+     */
+    public static FrequencyPriors load(Reader reader, ParadigmTemplates templates) throws IOException, DictionaryHelper.ParseException {
+        AncodeTable ancodeTable = templates.getAncodeTable();
+        long[] ancodeCounts = new long[ancodeTable.size()];
+        long[] paradigmCounts = new long[templates.size()];
+
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNum = 0;
+        while((line = lines.readLine()) != null) {
+            lineNum++;
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                if(parts.length != 3) {
+                    throw new IllegalArgumentException("expected 3 fields");
+                }
+                long count = Long.parseLong(parts[2]);
+                if(count < 0) {
+                    throw new IllegalArgumentException("negative count");
+                }
+                if(parts[0].equals("ancode")) {
+                    int ancodeId = ancodeTable.find(parts[1]);
+                    if(ancodeId != -1 && ancodeId < ancodeCounts.length) {
+                        ancodeCounts[ancodeId] += count;
+                    }
+                }
+                else if(parts[0].equals("paradigm")) {
+                    int paradigmId = Integer.parseInt(parts[1]);
+                    if(paradigmId < 0 || paradigmId >= paradigmCounts.length) {
+                        throw new IllegalArgumentException("unknown paradigm");
+                    }
+                    paradigmCounts[paradigmId] += count;
+                }
+                else {
+                    throw new IllegalArgumentException("unknown record type");
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new DictionaryHelper.ParseException("Bad count record at line " + lineNum + ", " + ex.getMessage() + ": " + line);
+            }
+        }
+        return new FrequencyPriors(ancodeCounts, paradigmCounts);
+    }
+
+    private static float[] logPriors(long[] counts) {
+        double total = sum(counts) + counts.length;
+        float[] result = new float[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            result[i] = (float) Math.log((counts[i] + 1) / total);
+        }
+        return result;
+    }
+
+    private static long sum(long[] counts) {
+        long result = 0;
+        for (long count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    /**
+     * @return log-probability of ancode; ancodes registered after priors were loaded are considered unseen
+     */
+    public float ancodeLogPrior(int ancodeId) {
+        return ancodeId < ancodeLogPriors.length ? ancodeLogPriors[ancodeId] : unseenAncodeLogPrior;
+    }
+
+    /**
+     * @return log-probability of paradigm; paradigms unknown to priors (e.g. when priors were loaded for a smaller
+     * dictionary) are considered unseen
+     */
+    public float paradigmLogPrior(int paradigmId) {
+        return paradigmId < paradigmLogPriors.length ? paradigmLogPriors[paradigmId] : unseenParadigmLogPrior;
+    }
+
+    /**
+     * @return score of word form, the larger the more probable
+     */
+    public float score(int ancodeId, int paradigmId) {
+        return ancodeLogPrior(ancodeId) + paradigmLogPrior(paradigmId);
+    }
+}
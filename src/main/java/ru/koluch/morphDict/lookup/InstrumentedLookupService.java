@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:56
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.metrics.LookupMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lookup service decorator, measuring every lookup and reporting it to {@link LookupMetrics}.
+ * <p>
+ * Decorated {@link PrefixTreeLookupService} is replaced with its {@link PrefixTreeLookupService#withMetrics
+ * instrumented copy}, which measures tree descent and building of results separately. Other services are
+ * measured as a whole. Instrumentation is opt-in: undecorated service has no overhead at all
+ */
+public class InstrumentedLookupService implements LookupService {
+
+    private final LookupService delegate;
+    private final LookupMetrics metrics;
+
+    public InstrumentedLookupService(LookupService delegate, LookupMetrics metrics) {
+        if(delegate instanceof PrefixTreeLookupService) {
+            this.delegate = ((PrefixTreeLookupService) delegate).withMetrics(metrics);
+            this.metrics = null;
+        }
+        else {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+    }
+
+    @Override
+    public ArrayList<LookupResult> lookup(String toFind) {
+        long start = now();
+        ArrayList<LookupResult> result = delegate.lookup(toFind);
+        record(start, result.size());
+        return result;
+    }
+
+    @Override
+    public List<LookupResult> lookup(String toFind, LookupContext context) {
+        long start = now();
+        List<LookupResult> result = delegate.lookup(toFind, context);
+        record(start, result.size());
+        return result;
+    }
+
+    @Override
+    public ArrayList<LookupResult> lookup(String toFind, AttributeFilter filter) {
+        long start = now();
+        ArrayList<LookupResult> result = delegate.lookup(toFind, filter);
+        record(start, result.size());
+        return result;
+    }
+
+    /**
+     * @return current time, 0 if delegate reports measurements itself
+     */
+    private long now() {
+        return metrics == null ? 0 : System.nanoTime();
+    }
+
+    private void record(long start, int results) {
+        if(metrics != null) {
+            metrics.record(-1, -1, System.nanoTime() - start, results);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:46
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.lookup.data.LexemeHandle;
+import ru.koluch.morphDict.pool.HeapStringPool;
+import ru.koluch.morphDict.pool.OffHeapStringPool;
+import ru.koluch.morphDict.pool.StringPool;
+
+import java.util.Optional;
+
+/**
+ * Lexemes of dictionary, stored in primitive arrays, together with paradigm templates. Bases of lexemes are kept
+ * in {@link StringPool} and decoded when handle of lexeme is made.
+ * <p>
+ * Table contains everything needed for lookups, so once it's built, {@link Dictionary} could be dropped. With
+ * {@link OffHeapStringPool} all dictionary strings are moved out of heap.
+ * <p>
+ * Immutable data-class
+ */
+public class LexemeTable {
+
+    private static final short NO_ANCODE = -1;
+
+    private final ParadigmTemplates templates;
+    private final StringPool basisPool;
+
+    private final int[] basisIds;
+    private final int[] paradigmIds;
+    private final int[] prefixIds;
+    private final int[] accentIds;
+    private final short[] commonAncodeIds;
+
+    /**
+     * Build table keeping strings on heap
+     */
+    public LexemeTable(Dictionary dictionary) {
+        this(dictionary, new HeapStringPool());
+    }
+
+    /**
+     * Build table keeping strings in supplied pool. Pool is trimmed after table is built
+     */
+    public LexemeTable(Dictionary dictionary, StringPool pool) {
+        this(dictionary, new ParadigmTemplates(dictionary, pool, new AncodeTable()));
+        pool.trim();
+    }
+
+    /**
+     * Build table using already built templates. Bases are added to the pool of templates
+     */
+    public LexemeTable(Dictionary dictionary, ParadigmTemplates templates) {
+        this(dictionary, templates, templates.getPool());
+    }
+
+    /**
+     * Build table using already built templates, keeping bases in separate pool. Templates are only read, so they
+     * could be shared with tables, which are used concurrently
+     *
+     * @param basisPool pool to add bases to, it's not trimmed
+     */
+    public LexemeTable(Dictionary dictionary, ParadigmTemplates templates, StringPool basisPool) {
+        this.templates = templates;
+        this.basisPool = basisPool;
+
+        int size = dictionary.lexemeRecs.size();
+        this.basisIds = new int[size];
+        this.paradigmIds = new int[size];
+        this.prefixIds = new int[size];
+        this.accentIds = new int[size];
+        this.commonAncodeIds = new short[size];
+
+        for (int i = 0; i < size; i++) {
+            LexemeRec lexemeRec = dictionary.lexemeRecs.get(i);
+            basisIds[i] = basisPool.add(lexemeRec.basis);
+            paradigmIds[i] = lexemeRec.paradigmIndex;
+            prefixIds[i] = lexemeRec.prefixParadigmIndex.orElse(ParadigmTemplates.NO_PREFIX);
+            accentIds[i] = lexemeRec.accentParadigmIndex;
+            commonAncodeIds[i] = lexemeRec.ancode.isPresent()
+                    ? (short) templates.getAncodeTable().register(lexemeRec.ancode.get())
+                    : NO_ANCODE;
+        }
+    }
+
+    public ParadigmTemplates getTemplates() {
+        return templates;
+    }
+
+    /**
+     * @return pool of bases, which is the pool of templates unless table was built with a separate one
+     */
+    public StringPool getBasisPool() {
+        return basisPool;
+    }
+
+    /**
+     * @return number of lexemes
+     */
+    public int size() {
+        return paradigmIds.length;
+    }
+
+    public String basis(int lexemeId) {
+        return basisPool.get(basisIds[lexemeId]);
+    }
+
+    public int paradigmId(int lexemeId) {
+        return paradigmIds[lexemeId];
+    }
+
+    /**
+     * @return index of global prefix, or {@link ParadigmTemplates#NO_PREFIX}
+     */
+    public int prefixId(int lexemeId) {
+        return prefixIds[lexemeId];
+    }
+
+    /**
+     * @return index of accent model, could point outside of accent models (which means stress is unknown)
+     */
+    public int accentId(int lexemeId) {
+        return accentIds[lexemeId];
+    }
+
+    public Optional<String> commonAncode(int lexemeId) {
+        short ancodeId = commonAncodeIds[lexemeId];
+        return ancodeId == NO_ANCODE ? Optional.empty() : Optional.of(templates.getAncodeTable().get(ancodeId));
+    }
+
+    /**
+     * @return number of word forms of lexeme
+     */
+    public int formCount(int lexemeId) {
+        return templates.formCount(paradigmIds[lexemeId]);
+    }
+
+    /**
+     * @return normal form of lexeme, made without materializing other word forms
+     */
+    public String lemma(int lexemeId) {
+        return templates.makeWord(basis(lexemeId), paradigmIds[lexemeId], prefixIds[lexemeId], 0);
+    }
+
+    public LexemeHandle handle(int lexemeId) {
+        return new LexemeHandle(
+                lexemeId,
+                basis(lexemeId),
+                paradigmIds[lexemeId],
+                prefixIds[lexemeId],
+                accentIds[lexemeId],
+                commonAncode(lexemeId),
+                templates
+        );
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:42
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-thread lookup session, holding result list reused between lookups and a small cache of tree data for
+ * recently looked up words. Cache belongs to the lookup service, which filled it, and is dropped as soon as context
+ * is passed to another service. Only tree descent is cached: results are built anew on every lookup, so callers
+ * never share lexemes through context (unless lookup service has a {@link WordFormStore}).
+ * <p>
+ * Context is not thread-safe: every worker thread should obtain its own instance once (directly or through
+ * {@link #forCurrentThread()}) and pass it to every lookup it makes
+ */
+public class LookupContext {
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final ThreadLocal<LookupContext> threadContext = ThreadLocal.withInitial(LookupContext::new);
+
+    /**
+     * Result list, returned from lookups made with this context. It is cleared on every lookup
+     */
+    final ArrayList<LookupResult> results = new ArrayList<>();
+
+    private final int cacheSize;
+    private final LinkedHashMap<String, List<DictionaryHelper.TreeData>> recent;
+
+    /**
+     * Lookup service, which owns cached tree data
+     */
+    private Object owner;
+
+    public LookupContext() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize maximum number of recently looked up words to keep tree data for, 0 to disable caching
+     */
+    public LookupContext(int cacheSize) {
+        if(cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size should not be negative: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.recent = new LinkedHashMap<String, List<DictionaryHelper.TreeData>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<DictionaryHelper.TreeData>> eldest) {
+                return size() > LookupContext.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @return context bound to the current thread, created on first call
+     */
+    public static LookupContext forCurrentThread() {
+        return threadContext.get();
+    }
+
+    /**
+     * Forget all cached words
+     */
+    public void clear() {
+        recent.clear();
+        results.clear();
+        owner = null;
+    }
+
+    /**
+     * Find cached tree data of word. If cache was filled by another service, it is dropped and owner is replaced.
+     * Owner should be immutable, so its cached tree data never get stale
+     *
+     * @return cached tree data (empty list if word is known to be absent), or null if word is not cached
+     */
+    List<DictionaryHelper.TreeData> recall(Object owner, String word) {
+        if(cacheSize == 0) {
+            return null;
+        }
+        if(this.owner != owner) {
+            recent.clear();
+            this.owner = owner;
+            return null;
+        }
+        return recent.get(word);
+    }
+
+    /**
+     * Remember tree data of word, found by owner of the last {@link #recall(Object, String)} call
+     *
+     * @param treeDataList tree data of word, empty list if word is not found
+     */
+    void remember(String word, List<DictionaryHelper.TreeData> treeDataList) {
+        if(cacheSize == 0) {
+            return;
+        }
+        recent.put(word, treeDataList);
+    }
+}
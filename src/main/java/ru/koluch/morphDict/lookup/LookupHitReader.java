@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:18
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.lookup.data.LookupHit;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader of lookup results written by {@link LookupHitWriter}. Reader works as a cursor: fields of
+ * current hit are available through accessors, so results could be consumed without building any objects.
+ * Use {@link #readHits(LexemeTable)} to get usual {@link LookupHit} instances instead.
+ * <p>
+ * Reader is not thread-safe
+ */
+public class LookupHitReader implements Closeable {
+
+    private final InputStream in;
+    private final boolean expanded;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+
+    private int remaining;
+    private int lexemeId;
+    private int paradigmId;
+    private int formNum;
+    private String lemma;
+    private String ancode;
+
+    /**
+     * Read header of stream
+     *
+     * @throws IOException if stream is not written by {@link LookupHitWriter}
+     */
+    public LookupHitReader(InputStream in) throws IOException {
+        this.in = in;
+        if(read() != LookupHitWriter.MAGIC[0] || read() != LookupHitWriter.MAGIC[1]) {
+            throw new IOException("Not a stream of lookup hits");
+        }
+        int version = read();
+        if(version != LookupHitWriter.VERSION) {
+            throw new IOException("Unsupported version of lookup hits stream: " + version);
+        }
+        this.expanded = (read() & LookupHitWriter.EXPANDED) != 0;
+    }
+
+    /**
+     * @return true, if hits have lemma and ancode
+     */
+    public boolean isExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Move to results of next lookup. Unread hits of current results are skipped
+     *
+     * @return number of hits, or -1 at the end of stream
+     */
+    public int nextResult() throws IOException {
+        while(remaining > 0) {
+            nextHit();
+        }
+        if(position == limit && !fill()) {
+            return -1;
+        }
+        int count = readVarint();
+        if(count < 0) {
+            throw new IOException("Bad number of hits: " + count);
+        }
+        remaining = count;
+        return remaining;
+    }
+
+    /**
+     * Move to next hit of current results
+     *
+     * @throws NoSuchElementException if all hits of current results are read
+     */
+    public void nextHit() throws IOException {
+        if(remaining == 0) {
+            throw new NoSuchElementException("No more hits in result");
+        }
+        remaining--;
+        lexemeId = readVarint();
+        paradigmId = readVarint();
+        formNum = readVarint();
+        if(expanded) {
+            lemma = readString();
+            ancode = readString();
+        }
+    }
+
+    public int lexemeId() {
+        return lexemeId;
+    }
+
+    public int paradigmId() {
+        return paradigmId;
+    }
+
+    public int formNum() {
+        return formNum;
+    }
+
+    /**
+     * @return lemma of current hit, or null if stream is not expanded
+     */
+    public String lemma() {
+        return lemma;
+    }
+
+    /**
+     * @return ancode of current hit, or null if stream is not expanded
+     */
+    public String ancode() {
+        return ancode;
+    }
+
+    /**
+     * Read results of next lookup as hits of lexemes from table
+     *
+     * @param lexemeTable table of the same dictionary, which was used by writer
+     * @return hits, or null at the end of stream
+     */
+    public List<LookupHit> readHits(LexemeTable lexemeTable) throws IOException {
+        int count = nextResult();
+        if(count == -1) {
+            return null;
+        }
+        List<LookupHit> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nextHit();
+            // Ids are unsigned varints, so corrupted stream could give negative ones
+            if(lexemeId < 0 || lexemeId >= lexemeTable.size() || lexemeTable.paradigmId(lexemeId) != paradigmId
+                    || formNum < 0 || formNum >= lexemeTable.formCount(lexemeId)) {
+                throw new IOException("Hit doesn't match dictionary: lexeme " + lexemeId + ", paradigm " + paradigmId + ", form " + formNum);
+            }
+            result.add(new LookupHit(lexemeTable.handle(lexemeId), formNum));
+        }
+        return result;
+    }
+
+    private int readVarint() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = read();
+            result |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private String readString() throws IOException {
+        int length = readVarint();
+        if(length < 0 || length > LookupHitWriter.MAX_STRING_LENGTH) {
+            throw new IOException("Bad length of string: " + length);
+        }
+        if(limit - position >= length) {
+            String result = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while(copied < length) {
+            if(position == limit && !fill()) {
+                throw new EOFException("Unexpected end of lookup hits stream");
+            }
+            int count = Math.min(length - copied, limit - position);
+            System.arraycopy(buffer, position, bytes, copied, count);
+            position += count;
+            copied += count;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int read() throws IOException {
+        if(position == limit && !fill()) {
+            throw new EOFException("Unexpected end of lookup hits stream");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        if(read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
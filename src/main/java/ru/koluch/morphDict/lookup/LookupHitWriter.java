@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:18
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.lookup.data.LookupHit;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streaming binary writer of lookup results, to pass them to other process. Every hit is written as lexeme id,
+ * paradigm id and number of found form, all as unsigned varints, so a typical hit takes 4-6 bytes. Reader with
+ * the same dictionary restores everything else from {@link LexemeTable}; when reader has no dictionary, writer
+ * could expand hits with lemma and ancode.
+ * <p>
+ * Stream layout:
+ * <pre>
+ * header:  'M' 'H' version flags
+ * result:  hitCount hit*
+ * hit:     lexemeId paradigmId formNum [lemma ancode]
+ * string:  byteCount UTF-8 bytes
+ * </pre>
+ * Writer is not thread-safe
+ */
+public class LookupHitWriter implements Closeable, Flushable {
+
+    static final byte[] MAGIC = {'M', 'H'};
+    static final int VERSION = 1;
+
+    /**
+     * Flag of header: hits are expanded with lemma and ancode
+     */
+    static final int EXPANDED = 1;
+
+    /**
+     * Maximal length of lemma and ancode in bytes, longer ones are rejected by reader as corrupted
+     */
+    static final int MAX_STRING_LENGTH = 1 << 12;
+
+    private final OutputStream out;
+    private final boolean expanded;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+
+    /**
+     * Write header of stream
+     *
+     * @param expanded write lemma and ancode with every hit
+     */
+    public LookupHitWriter(OutputStream out, boolean expanded) throws IOException {
+        this.out = out;
+        this.expanded = expanded;
+        write(MAGIC[0]);
+        write(MAGIC[1]);
+        write(VERSION);
+        write(expanded ? EXPANDED : 0);
+    }
+
+    /**
+     * Write results of one lookup
+     */
+    public void write(List<LookupHit> hits) throws IOException {
+        writeVarint(hits.size());
+        for (LookupHit hit : hits) {
+            writeVarint(hit.lexeme.lexemeId);
+            writeVarint(hit.lexeme.paradigmId);
+            writeVarint(hit.formNum);
+            if(expanded) {
+                writeString(hit.lexeme.lemma());
+                writeString(hit.ancode());
+            }
+        }
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write(value);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > MAX_STRING_LENGTH) {
+            throw new IOException("String is too long: " + value);
+        }
+        writeVarint(bytes.length);
+        for (byte b : bytes) {
+            write(b);
+        }
+    }
+
+    private void write(int b) throws IOException {
+        if(position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+}
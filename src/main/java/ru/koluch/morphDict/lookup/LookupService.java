@@ -11,10 +11,29 @@ package ru.koluch.morphDict.lookup;
 import ru.koluch.morphDict.lookup.data.LookupResult;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface for implementations of services, providing lookup facility
  */
 public interface LookupService {
     ArrayList<LookupResult> lookup(String toFind);
+
+    /**
+     * Lookup using per-thread context. Implementations could use context to avoid allocations, default
+     * implementation just delegates to {@link #lookup(String)}
+     */
+    default List<LookupResult> lookup(String toFind, LookupContext context) {
+        return lookup(toFind);
+    }
+
+    /**
+     * Lookup only word forms accepted by filter. Implementations could check filter before building results,
+     * default implementation filters results of {@link #lookup(String)}
+     */
+    default ArrayList<LookupResult> lookup(String toFind, AttributeFilter filter) {
+        ArrayList<LookupResult> result = lookup(toFind);
+        result.removeIf(lookupResult -> !filter.matches(lookupResult.wordForm.ancode));
+        return result;
+    }
 }
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:06
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.pool.HeapStringPool;
+import ru.koluch.morphDict.pool.StringPool;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Named lookup services of one process, e.g. one per language. Services built by registry share one
+ * {@link StringPool} and one {@link AncodeTable}, so strings common to several dictionaries are kept once.
+ * <p>
+ * Shared pool is filled without synchronization, so all dictionaries should be registered before services are
+ * used from other threads
+ */
+public class LookupServiceRegistry {
+
+    private final StringPool pool;
+    private final AncodeTable ancodeTable = new AncodeTable();
+    private final ConcurrentMap<String, LookupService> services = new ConcurrentHashMap<>();
+
+    public LookupServiceRegistry() {
+        this(new HeapStringPool());
+    }
+
+    /**
+     * @param pool pool to keep strings of all registered dictionaries in
+     */
+    public LookupServiceRegistry(StringPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Build lookup service for dictionary and register it. Strings and ancodes of dictionary are put to shared
+     * pool and ancode table, so dictionary itself could be dropped afterwards
+     *
+     * @param alphabet alphabet of dictionary language
+     * @return built lookup service
+     * @throws IllegalArgumentException if name is already registered
+     */
+    public synchronized PrefixTreeLookupService register(String name, Dictionary dictionary, Alphabet alphabet) {
+        if(services.containsKey(name)) {
+            throw new IllegalArgumentException("Lookup service is already registered: " + name);
+        }
+        LexemeTable lexemeTable = new LexemeTable(dictionary, new ParadigmTemplates(dictionary, pool, ancodeTable));
+        PrefixTreeLookupService service = new PrefixTreeLookupService(lexemeTable, DictionaryHelper.buildPrefixTree(dictionary, alphabet), null);
+        register(name, service);
+        return service;
+    }
+
+    /**
+     * Register already built lookup service
+     *
+     * @throws IllegalArgumentException if name is already registered
+     */
+    public void register(String name, LookupService service) {
+        if(services.putIfAbsent(name, service) != null) {
+            throw new IllegalArgumentException("Lookup service is already registered: " + name);
+        }
+    }
+
+    public Optional<LookupService> get(String name) {
+        return Optional.ofNullable(services.get(name));
+    }
+
+    /**
+     * @return names of registered services
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(services.keySet());
+    }
+
+    public StringPool getPool() {
+        return pool;
+    }
+
+    public AncodeTable getAncodeTable() {
+        return ancodeTable;
+    }
+}
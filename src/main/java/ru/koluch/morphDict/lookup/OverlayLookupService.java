@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:05
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.lookup.data.LexemeHandle;
+import ru.koluch.morphDict.lookup.data.LookupHit;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lookup service, which allows to add lexemes without rebuilding the whole index. Added lexemes go to a small
+ * delta index, which is searched together with frozen base index. Delta lexemes should reference paradigms and
+ * prefixes of base dictionary.
+ * <p>
+ * Base and delta are kept in immutable snapshot, which is replaced on every update, so lookups are lock-free and
+ * always see consistent state. Delta index is rebuilt on every update, so it should be kept small: call
+ * {@link #compact()} from time to time to merge delta into a new base.
+ * <p>
+ * Lexemes of delta have ids following lexemes of base, and keep them after compaction. New base keeps
+ * configuration of the old one (see {@link PrefixTreeLookupService#rebuild(Dictionary)}), unless a factory of
+ * base services is supplied
+ */
+public class OverlayLookupService implements LookupService {
+
+    private volatile Snapshot snapshot;
+    private final Object compactionLock = new Object();
+    private final Function<Dictionary, PrefixTreeLookupService> baseFactory;
+
+    /**
+     * Build base index for dictionary
+     */
+    public OverlayLookupService(Dictionary dictionary) {
+        this(dictionary, new PrefixTreeLookupService(dictionary, DictionaryHelper.buildPrefixTree(dictionary)));
+    }
+
+    /**
+     * @param dictionary dictionary of base index
+     * @param base lookup service over dictionary, which is used as base index
+     */
+    public OverlayLookupService(Dictionary dictionary, PrefixTreeLookupService base) {
+        this(dictionary, base, null);
+    }
+
+    /**
+     * @param dictionary dictionary of base index
+     * @param base lookup service over dictionary, which is used as base index
+     * @param baseFactory factory of base services for compacted dictionaries, or null to rebuild base with its
+     * own configuration
+     */
+    public OverlayLookupService(Dictionary dictionary, PrefixTreeLookupService base, Function<Dictionary, PrefixTreeLookupService> baseFactory) {
+        this.baseFactory = baseFactory;
+        this.snapshot = new Snapshot(dictionary, base, Collections.emptyList(), new PrefixTree<>(base.getPrefixTree().getAlphabet()));
+    }
+
+    /**
+     * Add lexeme to delta index
+     *
+     * @return id of added lexeme
+     * @throws IllegalArgumentException if lexeme references unknown paradigm or prefix, or contains letters
+     * outside of alphabet
+     */
+    public int addLexeme(LexemeRec lexemeRec) {
+        return addLexemes(Collections.singletonList(lexemeRec));
+    }
+
+    /**
+     * Add lexemes to delta index. Adding lexemes in batch is cheaper, because delta index is rebuilt only once
+     *
+     * @return id of the first added lexeme, other lexemes have consecutive ids
+     * @throws IllegalArgumentException if some lexeme references unknown paradigm or prefix, or contains letters
+     * outside of alphabet. No lexemes are added in this case
+     */
+    public synchronized int addLexemes(Collection<LexemeRec> lexemeRecs) {
+        Snapshot current = snapshot;
+        for (LexemeRec lexemeRec : lexemeRecs) {
+            validate(current.dictionary, lexemeRec);
+        }
+        List<LexemeRec> delta = new ArrayList<>(current.delta.size() + lexemeRecs.size());
+        delta.addAll(current.delta);
+        delta.addAll(lexemeRecs);
+        snapshot = new Snapshot(current.dictionary, current.base, delta, buildDeltaTree(current, current.dictionary, delta));
+        return current.dictionary.lexemeRecs.size() + current.delta.size();
+    }
+
+    /**
+     * Merge delta into a new base index. Base is rebuilt without blocking lookups and updates; lexemes added
+     * during compaction stay in delta
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            Snapshot compacted = snapshot;
+            if(compacted.delta.isEmpty()) {
+                return;
+            }
+
+            Dictionary base = compacted.dictionary;
+            List<LexemeRec> lexemeRecs = new ArrayList<>(base.lexemeRecs.size() + compacted.delta.size());
+            lexemeRecs.addAll(base.lexemeRecs);
+            lexemeRecs.addAll(compacted.delta);
+            Dictionary dictionary = new Dictionary(base.paradigmList, lexemeRecs, base.prefixeParadigmList, base.accentModels, base.userSessions);
+            PrefixTreeLookupService lookupService = baseFactory != null ? baseFactory.apply(dictionary) : compacted.base.rebuild(dictionary);
+
+            synchronized (this) {
+                List<LexemeRec> delta = new ArrayList<>(snapshot.delta.subList(compacted.delta.size(), snapshot.delta.size()));
+                snapshot = new Snapshot(dictionary, lookupService, delta, buildDeltaTree(compacted, dictionary, delta));
+            }
+        }
+    }
+
+    /**
+     * @return lookup service of current base index
+     */
+    public PrefixTreeLookupService getBase() {
+        return snapshot.base;
+    }
+
+    /**
+     * @return dictionary of current base index
+     */
+    public Dictionary getDictionary() {
+        return snapshot.dictionary;
+    }
+
+    /**
+     * @return total number of lexemes
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current.dictionary.lexemeRecs.size() + current.delta.size();
+    }
+
+    /**
+     * @return number of lexemes in delta index
+     */
+    public int deltaSize() {
+        return snapshot.delta.size();
+    }
+
+    /**
+     * @return handle of lexeme from base or delta
+     */
+    public LexemeHandle handle(int lexemeId) {
+        return snapshot.handle(lexemeId);
+    }
+
+    @Override
+    public ArrayList<LookupResult> lookup(String toFind) {
+        Snapshot current = snapshot;
+        ArrayList<LookupResult> result = current.base.lookup(toFind);
+        List<DictionaryHelper.TreeData> treeDataList = current.deltaTree.find(toFind);
+        if(treeDataList != null) {
+            for (DictionaryHelper.TreeData treeData : treeDataList) {
+                LookupHit hit = new LookupHit(current.handle(treeData.lexemeRecNum), treeData.paradigmNum);
+                result.add(hit.toLookupResult());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Search wordform in base and delta, reusing result list of supplied context. Only lookups in base index are
+     * cached: base of every snapshot is immutable, so cache never gets stale, and it is dropped when base is
+     * replaced by compaction
+     *
+     * @return list of lexemes-homonym, containing specified wordform. List is owned by context and is overwritten by
+     * the next lookup with the same context
+     */
+    @Override
+    public List<LookupResult> lookup(String toFind, LookupContext context) {
+        Snapshot current = snapshot;
+        List<LookupResult> result = current.base.lookup(toFind, context);
+        List<DictionaryHelper.TreeData> treeDataList = current.deltaTree.find(toFind);
+        if(treeDataList != null) {
+            for (DictionaryHelper.TreeData treeData : treeDataList) {
+                LookupHit hit = new LookupHit(current.handle(treeData.lexemeRecNum), treeData.paradigmNum);
+                result.add(hit.toLookupResult());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Search wordform in base and delta, without materializing word forms of found lexemes
+     */
+    public ArrayList<LookupHit> lookupHits(String toFind) {
+        Snapshot current = snapshot;
+        ArrayList<LookupHit> hits = current.base.lookupHits(toFind);
+        List<DictionaryHelper.TreeData> treeDataList = current.deltaTree.find(toFind);
+        if(treeDataList != null) {
+            for (DictionaryHelper.TreeData treeData : treeDataList) {
+                hits.add(new LookupHit(current.handle(treeData.lexemeRecNum), treeData.paradigmNum));
+            }
+        }
+        return hits;
+    }
+
+    private static void validate(Dictionary dictionary, LexemeRec lexemeRec) {
+        if(lexemeRec.paradigmIndex < 0 || lexemeRec.paradigmIndex >= dictionary.paradigmList.size()) {
+            throw new IllegalArgumentException("Unknown paradigm " + lexemeRec.paradigmIndex + " of lexeme " + lexemeRec.basis);
+        }
+        if(lexemeRec.prefixParadigmIndex.isPresent()) {
+            int prefix = lexemeRec.prefixParadigmIndex.get();
+            if(prefix < 0 || prefix >= dictionary.prefixeParadigmList.size()) {
+                throw new IllegalArgumentException("Unknown prefix " + prefix + " of lexeme " + lexemeRec.basis);
+            }
+        }
+    }
+
+    private static PrefixTree<DictionaryHelper.TreeData> buildDeltaTree(Snapshot previous, Dictionary dictionary, List<LexemeRec> delta) {
+        PrefixTree<DictionaryHelper.TreeData> result = new PrefixTree<>(previous.deltaTree.getAlphabet());
+        DictionaryHelper.addToPrefixTree(result, dictionary, delta, dictionary.lexemeRecs.size());
+        return result;
+    }
+
+    /**
+     * Immutable state of index
+     */
+    private static class Snapshot {
+        final Dictionary dictionary;
+        final PrefixTreeLookupService base;
+        final List<LexemeRec> delta;
+        final PrefixTree<DictionaryHelper.TreeData> deltaTree;
+
+        Snapshot(Dictionary dictionary, PrefixTreeLookupService base, List<LexemeRec> delta, PrefixTree<DictionaryHelper.TreeData> deltaTree) {
+            this.dictionary = dictionary;
+            this.base = base;
+            this.delta = delta;
+            this.deltaTree = deltaTree;
+        }
+
+        LexemeHandle handle(int lexemeId) {
+            int baseSize = dictionary.lexemeRecs.size();
+            if(lexemeId < baseSize) {
+                return base.getLexemeTable().handle(lexemeId);
+            }
+            LexemeRec lexemeRec = delta.get(lexemeId - baseSize);
+            return new LexemeHandle(
+                    lexemeId,
+                    lexemeRec.basis,
+                    lexemeRec.paradigmIndex,
+                    lexemeRec.prefixParadigmIndex.orElse(ParadigmTemplates.NO_PREFIX),
+                    lexemeRec.accentParadigmIndex,
+                    lexemeRec.ancode,
+                    base.getTemplates()
+            );
+        }
+    }
+}
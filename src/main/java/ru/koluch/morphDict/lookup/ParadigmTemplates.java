@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:44
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+import ru.koluch.morphDict.lookup.data.WordForm;
+import ru.koluch.morphDict.pool.HeapStringPool;
+import ru.koluch.morphDict.pool.StringPool;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Precomputed paradigms of dictionary, stored in primitive arrays.
+ * <p>
+ * Rules of all paradigms are laid out one after another, so form number {@code i} of paradigm {@code p} has
+ * index {@code offsets[p] + i}. Endings and prefixes are kept in {@link StringPool} and referenced by ids,
+ * ancodes are referenced by ids of {@link AncodeTable}. Every word form could be produced from lexeme basis,
+ * paradigm id, prefix id and form number, without looking into {@link Dictionary}.
+ * <p>
+ * Immutable data-class
+ */
+public class ParadigmTemplates {
+
+    /**
+     * Prefix id of lexemes without global prefix
+     */
+    public static final int NO_PREFIX = -1;
+
+    /**
+     * Accent model id of lexemes without accent model
+     */
+    public static final int NO_ACCENT = -1;
+
+    private static final int UNKNOWN_STRESS = 255;
+
+    private static final int NO_AFFIX = -1;
+    private static final Optional<String> EMPTY_PREFIX = Optional.of("");
+
+    private final AncodeTable ancodeTable;
+    private final StringPool pool;                  // affix id -> affix
+
+    private final int[] offsets;                    // paradigm id -> index of first form, one extra at the end
+    private final int[] endingIds;
+    private final short[] ancodeIds;
+    private final int[] prefixIds;
+
+    private final int[] globalPrefixIds;            // prefix id -> affix id
+
+    private final int[] accentOffsets;              // accent model id -> index of first stress, one extra at the end
+    private final byte[] stresses;                  // number of stressed vowel from the end, unsigned
+
+    public ParadigmTemplates(Dictionary dictionary) {
+        this(dictionary, new HeapStringPool(), new AncodeTable());
+    }
+
+    /**
+     * @param pool pool to keep endings and prefixes in, could be shared with other templates
+     * @param ancodeTable table to register ancodes in, could be shared with other templates
+     */
+    public ParadigmTemplates(Dictionary dictionary, StringPool pool, AncodeTable ancodeTable) {
+        this.ancodeTable = ancodeTable;
+        this.pool = pool;
+
+        int formCount = 0;
+        for (List<ParadigmRule> paradigmRules : dictionary.paradigmList) {
+            formCount += paradigmRules.size();
+        }
+
+        this.offsets = new int[dictionary.paradigmList.size() + 1];
+        this.endingIds = new int[formCount];
+        this.ancodeIds = new short[formCount];
+        this.prefixIds = new int[formCount];
+
+        int index = 0;
+        for (int p = 0; p < dictionary.paradigmList.size(); p++) {
+            offsets[p] = index;
+            for (ParadigmRule paradigmRule : dictionary.paradigmList.get(p)) {
+                endingIds[index] = affixId(paradigmRule.ending.orElse(null));
+                ancodeIds[index] = (short) ancodeTable.register(paradigmRule.ancode);
+                prefixIds[index] = affixId(paradigmRule.prefix.orElse(null));
+                index++;
+            }
+        }
+        offsets[dictionary.paradigmList.size()] = index;
+
+        this.globalPrefixIds = new int[dictionary.prefixeParadigmList.size()];
+        for (int i = 0; i < globalPrefixIds.length; i++) {
+            globalPrefixIds[i] = pool.add(dictionary.prefixeParadigmList.get(i));
+        }
+
+        int stressCount = 0;
+        for (byte[] accentModel : dictionary.accentModels) {
+            stressCount += accentModel.length;
+        }
+        this.accentOffsets = new int[dictionary.accentModels.size() + 1];
+        this.stresses = new byte[stressCount];
+        index = 0;
+        for (int a = 0; a < dictionary.accentModels.size(); a++) {
+            accentOffsets[a] = index;
+            byte[] accentModel = dictionary.accentModels.get(a);
+            System.arraycopy(accentModel, 0, stresses, index, accentModel.length);
+            index += accentModel.length;
+        }
+        accentOffsets[dictionary.accentModels.size()] = index;
+    }
+
+    private int affixId(String affix) {
+        return affix == null ? NO_AFFIX : pool.add(affix);
+    }
+
+    public AncodeTable getAncodeTable() {
+        return ancodeTable;
+    }
+
+    public StringPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return number of paradigms
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return number of word forms in paradigm
+     */
+    public int formCount(int paradigmId) {
+        return offsets[paradigmId + 1] - offsets[paradigmId];
+    }
+
+    /**
+     * @return ending of word form, empty string if form has no ending
+     */
+    public String ending(int paradigmId, int formNum) {
+        return affix(endingIds[offsets[paradigmId] + formNum]);
+    }
+
+    /**
+     * @return true, if form has its own prefix (apart from global prefix of lexeme)
+     */
+    public boolean hasPrefix(int paradigmId, int formNum) {
+        return prefixIds[offsets[paradigmId] + formNum] != NO_AFFIX;
+    }
+
+    /**
+     * @return own prefix of word form, empty string if form has no prefix
+     */
+    public String prefix(int paradigmId, int formNum) {
+        return affix(prefixIds[offsets[paradigmId] + formNum]);
+    }
+
+    /**
+     * @return id of word form ancode in ancode table
+     */
+    public int ancodeId(int paradigmId, int formNum) {
+        return ancodeIds[offsets[paradigmId] + formNum];
+    }
+
+    public String ancode(int paradigmId, int formNum) {
+        return ancodeTable.get(ancodeIds[offsets[paradigmId] + formNum]);
+    }
+
+    /**
+     * @return number of accent models
+     */
+    public int accentModelCount() {
+        return accentOffsets.length - 1;
+    }
+
+    /**
+     * @param accentId index of accent model, unknown models and {@link #NO_ACCENT} are allowed
+     * @return number of stressed vowel of word form, counted from the end of word, or {@link WordForm#NO_STRESS}
+     */
+    public int stress(int accentId, int formNum) {
+        if(accentId < 0 || accentId >= accentOffsets.length - 1) {
+            return WordForm.NO_STRESS;
+        }
+        int index = accentOffsets[accentId] + formNum;
+        if(index >= accentOffsets[accentId + 1]) {
+            return WordForm.NO_STRESS;
+        }
+        int stress = stresses[index] & 0xFF;
+        return stress == UNKNOWN_STRESS ? WordForm.NO_STRESS : stress;
+    }
+
+    /**
+     * @param prefixId index in prefix list of dictionary, or {@link #NO_PREFIX}
+     * @return global prefix, empty string for {@link #NO_PREFIX}
+     */
+    public String globalPrefix(int prefixId) {
+        return prefixId == NO_PREFIX ? "" : pool.get(globalPrefixIds[prefixId]);
+    }
+
+    /**
+     * Build word form string without intermediate strings
+     */
+    public String makeWord(String basis, int paradigmId, int prefixId, int formNum) {
+        int index = offsets[paradigmId] + formNum;
+        StringBuilder result = new StringBuilder(16);
+        if(prefixId != NO_PREFIX) {
+            result.append(pool.get(globalPrefixIds[prefixId]));
+        }
+        if(prefixIds[index] != NO_AFFIX) {
+            result.append(pool.get(prefixIds[index]));
+        }
+        result.append(basis);
+        if(endingIds[index] != NO_AFFIX) {
+            result.append(pool.get(endingIds[index]));
+        }
+        return result.toString();
+    }
+
+    public WordForm makeWordForm(String basis, int paradigmId, int prefixId, int formNum) {
+        return makeWordForm(basis, paradigmId, prefixId, NO_ACCENT, formNum);
+    }
+
+    public WordForm makeWordForm(String basis, int paradigmId, int prefixId, int accentId, int formNum) {
+        int index = offsets[paradigmId] + formNum;
+        Optional<String> prefix;
+        if(prefixId == NO_PREFIX) {
+            prefix = prefixIds[index] == NO_AFFIX ? EMPTY_PREFIX : Optional.of(pool.get(prefixIds[index]));
+        }
+        else {
+            prefix = Optional.of(pool.get(globalPrefixIds[prefixId]) + affix(prefixIds[index]));
+        }
+        return new WordForm(
+                prefix,
+                basis,
+                endingIds[index] == NO_AFFIX ? Optional.empty() : Optional.of(pool.get(endingIds[index])),
+                ancodeTable.get(ancodeIds[index]),
+                stress(accentId, formNum)
+        );
+    }
+
+    private String affix(int affixId) {
+        return affixId == NO_AFFIX ? "" : pool.get(affixId);
+    }
+}
@@ -9,28 +9,149 @@ package ru.koluch.morphDict.lookup;
 
 
 import ru.koluch.morphDict.dictionary.data.Dictionary;
-import ru.koluch.morphDict.dictionary.data.LexemeRec;
-import ru.koluch.morphDict.dictionary.data.ParadigmRule;
 import ru.koluch.morphDict.lookup.data.Lexeme;
+import ru.koluch.morphDict.lookup.data.LookupHit;
 import ru.koluch.morphDict.lookup.data.LookupResult;
 import ru.koluch.morphDict.lookup.data.WordForm;
+import ru.koluch.morphDict.metrics.LookupMetrics;
+import ru.koluch.morphDict.prefixTree.BloomFilter;
 import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.prefixTree.WordPattern;
+import ru.koluch.morphDict.pool.StringPool;
 import ru.koluch.morphDict.dictionary.DictionaryHelper;
 
 import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * Implementation of lookup service using prefix-tree represenation
  */
 public class PrefixTreeLookupService implements LookupService {
 
+    private static final int[] NO_LEMMAS = new int[0];
 
-    private final Dictionary dictionary;
+    private final LexemeTable lexemeTable;
     private final PrefixTree<DictionaryHelper.TreeData> prefixTree;
+    private final WordFormStore wordFormStore;
+    private final BloomFilter filter;
+    private final LookupMetrics metrics;
+
+    /**
+     * Lemmas by lexeme id, made on first request. Racy initialization is safe here, because strings are immutable
+     */
+    private final String[] lemmas;
 
     public PrefixTreeLookupService(Dictionary dictionary, PrefixTree<DictionaryHelper.TreeData> prefixTree) {
-        this.dictionary = dictionary;
+        this(dictionary, prefixTree, null);
+    }
+
+    /**
+     * @param wordFormStore store for canonical lexemes, or null if lexemes should be built on every lookup
+     */
+    public PrefixTreeLookupService(Dictionary dictionary, PrefixTree<DictionaryHelper.TreeData> prefixTree, WordFormStore wordFormStore) {
+        this(new LexemeTable(dictionary), prefixTree, wordFormStore);
+    }
+
+    /**
+     * Make lookup service using lexeme table instead of dictionary, so dictionary itself could be dropped after
+     * table and tree are built
+     *
+     * @param wordFormStore store for canonical lexemes, or null if lexemes should be built on every lookup
+     */
+    public PrefixTreeLookupService(LexemeTable lexemeTable, PrefixTree<DictionaryHelper.TreeData> prefixTree, WordFormStore wordFormStore) {
+        this(lexemeTable, prefixTree, wordFormStore, null);
+    }
+
+    /**
+     * Make lookup service, which consults filter before descending prefix tree. Words rejected by filter (including
+     * words with letters outside of alphabet) are not found without touching the tree
+     *
+     * @param wordFormStore store for canonical lexemes, or null if lexemes should be built on every lookup
+     * @param filter filter built for prefix tree, or null
+     */
+    public PrefixTreeLookupService(LexemeTable lexemeTable, PrefixTree<DictionaryHelper.TreeData> prefixTree, WordFormStore wordFormStore, BloomFilter filter) {
+        this(lexemeTable, prefixTree, wordFormStore, filter, null);
+    }
+
+    /**
+     * Make lookup service, which reports every lookup to metrics, measuring tree descent and building of results
+     * separately. Service without metrics doesn't even read the clock
+     *
+     * @param wordFormStore store for canonical lexemes, or null if lexemes should be built on every lookup
+     * @param filter filter built for prefix tree, or null
+     * @param metrics receiver of measurements, or null
+     */
+    public PrefixTreeLookupService(LexemeTable lexemeTable, PrefixTree<DictionaryHelper.TreeData> prefixTree, WordFormStore wordFormStore, BloomFilter filter, LookupMetrics metrics) {
+        this.lexemeTable = lexemeTable;
         this.prefixTree = prefixTree;
+        this.wordFormStore = wordFormStore;
+        this.filter = filter;
+        this.metrics = metrics;
+        this.lemmas = new String[lexemeTable.size()];
+    }
+
+    public LexemeTable getLexemeTable() {
+        return lexemeTable;
+    }
+
+    public PrefixTree<DictionaryHelper.TreeData> getPrefixTree() {
+        return prefixTree;
+    }
+
+    public ParadigmTemplates getTemplates() {
+        return lexemeTable.getTemplates();
+    }
+
+    /**
+     * @return lookup service over the same table, tree, store and filter, which reports lookups to metrics
+     */
+    public PrefixTreeLookupService withMetrics(LookupMetrics metrics) {
+        return new PrefixTreeLookupService(lexemeTable, prefixTree, wordFormStore, filter, metrics);
+    }
+
+    /**
+     * Build lookup service for new version of dictionary with the same paradigms, prefixes and accent models,
+     * keeping configuration of this service: templates (so their affixes and ancode table are shared), kind of
+     * string pool, alphabet, limit of word form store and false positive rate of filter.
+     * <p>
+     * This service is not modified, so it could serve lookups while new one is built: bases go to a new pool
+     */
+    public PrefixTreeLookupService rebuild(Dictionary dictionary) {
+        PrefixTree<DictionaryHelper.TreeData> tree;
+        BloomFilter newFilter = null;
+        if(filter == null) {
+            tree = DictionaryHelper.buildPrefixTree(dictionary, prefixTree.getAlphabet());
+        }
+        else {
+            DictionaryHelper.FilteredPrefixTree filtered = DictionaryHelper.buildPrefixTree(dictionary, prefixTree.getAlphabet(), filter.getFalsePositiveRate());
+            tree = filtered.tree;
+            newFilter = filtered.filter;
+        }
+        StringPool basisPool = lexemeTable.getBasisPool().newPool();
+        LexemeTable table = new LexemeTable(dictionary, lexemeTable.getTemplates(), basisPool);
+        basisPool.trim();
+        return new PrefixTreeLookupService(
+                table,
+                tree,
+                wordFormStore == null ? null : new WordFormStore(dictionary, wordFormStore.getMaxLexemes()),
+                newFilter,
+                metrics
+        );
+    }
+
+    /**
+     * Materialize lexemes into word form store ahead of lookups, until store is full
+     */
+    public void fillStore() {
+        if(wordFormStore == null) {
+            throw new IllegalStateException("Lookup service has no word form store");
+        }
+        for (int i = 0; i < lexemeTable.size() && !wordFormStore.isFull(); i++) {
+            if(wordFormStore.get(i) == null) {
+                wordFormStore.put(i, makeLexeme(i));
+            }
+        }
     }
 
     /**
@@ -43,43 +164,278 @@ public class PrefixTreeLookupService implements LookupService {
     public ArrayList<LookupResult> lookup(String toFind)
     {
         ArrayList<LookupResult> lookupResultList = new ArrayList<>();
+        long start = now();
+        List<DictionaryHelper.TreeData> treeDataList = descend(toFind);
+        long descended = now();
+        if(treeDataList != null) {
+            materialize(treeDataList, lookupResultList);
+        }
+        record(start, descended, lookupResultList.size());
+        return lookupResultList;
+    }
 
-        Optional<List<DictionaryHelper.TreeData>> treeDataListOpt = prefixTree.get(toFind);
-        if(treeDataListOpt.isPresent()) {
-            List<DictionaryHelper.TreeData> treeDataList = treeDataListOpt.get();
-            for (DictionaryHelper.TreeData treeData : treeDataList) {
-                LexemeRec lexemeRec = dictionary.lexemeRecs.get(treeData.lexemeRecNum);
-                Optional<String> commonAncode = lexemeRec.ancode;
-                List<ParadigmRule> paradigmRules = dictionary.paradigmList.get(lexemeRec.paradigmIndex);
-                Optional<String> globalPrefix = lexemeRec.prefixParadigmIndex.map(dictionary.prefixeParadigmList::get);
-
-                // Build found word form
-                ParadigmRule foundParadigmRule = paradigmRules.get(treeData.paradigmNum);
-                WordForm foundWordForm = new WordForm(
-                        Optional.of(globalPrefix.orElse("") + foundParadigmRule.prefix.orElse("")),
-                        lexemeRec.basis,
-                        foundParadigmRule.ending,
-                        foundParadigmRule.ancode
-                );
-
-                // Build lexeme
-                ArrayList<WordForm> homonyms = new ArrayList<>();
-                for (ParadigmRule paradigmRule : paradigmRules) {
-                    homonyms.add(new WordForm(
-                            Optional.of(globalPrefix.orElse("") + paradigmRule.prefix.orElse("")),
-                            lexemeRec.basis,
-                            paradigmRule.ending,
-                            paradigmRule.ancode
-                    ));
+    /**
+     * Search wordform in dictionary, reusing result list of supplied context. Tree data of recent lookups are
+     * cached in context, so repeated words are not searched in tree again
+     *
+     * @param toFind arbitrary wordform
+     * @param context lookup context, owned by current thread
+     * @return list of lexemes-homonym, containing specified wordform. List is owned by context and is overwritten by
+     * the next lookup with the same context
+     */
+    @Override
+    public List<LookupResult> lookup(String toFind, LookupContext context)
+    {
+        long start = now();
+        List<DictionaryHelper.TreeData> treeDataList = context.recall(this, toFind);
+        if(treeDataList == null) {
+            treeDataList = descend(toFind);
+            if(treeDataList == null) {
+                treeDataList = Collections.emptyList();
+            }
+            context.remember(toFind, treeDataList);
+        }
+        long descended = now();
+        context.results.clear();
+        materialize(treeDataList, context.results);
+        record(start, descended, context.results.size());
+        return context.results;
+    }
+
+    /**
+     * Search wordform in dictionary, keeping only word forms accepted by filter. Filter is checked on tree data,
+     * so rejected word forms cost neither lexemes nor word forms
+     *
+     * @param toFind arbitrary wordform
+     * @param filter filter of word forms
+     * @return list of lexemes-homonym, containing specified wordform with accepted attributes
+     */
+    @Override
+    public ArrayList<LookupResult> lookup(String toFind, AttributeFilter filter)
+    {
+        ArrayList<LookupResult> lookupResultList = new ArrayList<>();
+        long start = now();
+        List<DictionaryHelper.TreeData> treeDataList = descend(toFind, filter);
+        long descended = now();
+        materialize(treeDataList, lookupResultList);
+        record(start, descended, lookupResultList.size());
+        return lookupResultList;
+    }
+
+    /**
+     * Search wordform in dictionary, without materializing word forms of found lexemes, keeping only word forms
+     * accepted by filter
+     */
+    public ArrayList<LookupHit> lookupHits(String toFind, AttributeFilter filter)
+    {
+        ArrayList<LookupHit> hits = new ArrayList<>();
+        for (DictionaryHelper.TreeData treeData : descend(toFind, filter)) {
+            hits.add(new LookupHit(lexemeTable.handle(treeData.lexemeRecNum), treeData.paradigmNum));
+        }
+        return hits;
+    }
+
+    /**
+     * @return tree data of word form accepted by filter, empty list if nothing is found
+     */
+    private List<DictionaryHelper.TreeData> descend(String toFind, AttributeFilter filter) {
+        List<DictionaryHelper.TreeData> treeDataList = descend(toFind);
+        if(treeDataList == null) {
+            return Collections.emptyList();
+        }
+        ParadigmTemplates templates = lexemeTable.getTemplates();
+        List<DictionaryHelper.TreeData> result = null;
+        for (int i = 0; i < treeDataList.size(); i++) {
+            DictionaryHelper.TreeData treeData = treeDataList.get(i);
+            int ancodeId = templates.ancodeId(lexemeTable.paradigmId(treeData.lexemeRecNum), treeData.paradigmNum);
+            boolean accepted = filter.matches(templates.getAncodeTable(), ancodeId);
+            if(accepted && result != null) {
+                result.add(treeData);
+            }
+            else if(!accepted && result == null) {
+                // Copy accepted tree data only when something is rejected
+                result = new ArrayList<>(treeDataList.subList(0, i));
+            }
+        }
+        return result == null ? treeDataList : result;
+    }
+
+    /**
+     * @return current time for metrics, 0 if service has no metrics
+     */
+    private long now() {
+        return metrics == null ? 0 : System.nanoTime();
+    }
+
+    private void record(long start, long descended, int results) {
+        if(metrics != null) {
+            long end = System.nanoTime();
+            metrics.record(descended - start, end - descended, end - start, results);
+        }
+    }
+
+    /**
+     * First phase of lookup: find word form in prefix tree
+     *
+     * @return tree data for word form, or null if word form is not found
+     */
+    List<DictionaryHelper.TreeData> descend(String toFind) {
+        if(filter != null && !filter.mightContain(toFind)) {
+            return null;
+        }
+        return prefixTree.find(toFind);
+    }
+
+    /**
+     * Second phase of lookup: build lookup results for tree data of found word form
+     *
+     * @param treeDataList result of {@link #descend(String)}
+     * @param lookupResultList list to add results to
+     */
+    void materialize(List<DictionaryHelper.TreeData> treeDataList, List<LookupResult> lookupResultList) {
+        for (DictionaryHelper.TreeData treeData : treeDataList) {
+            Lexeme lexeme;
+            if(wordFormStore != null) {
+                lexeme = wordFormStore.get(treeData.lexemeRecNum);
+                if(lexeme == null) {
+                    lexeme = wordFormStore.put(treeData.lexemeRecNum, makeLexeme(treeData.lexemeRecNum));
                 }
-                Lexeme lexeme = new Lexeme(homonyms, commonAncode);
+            }
+            else {
+                lexeme = makeLexeme(treeData.lexemeRecNum);
+            }
+
+            // Found word form is the same as corresponding homonym
+            WordForm foundWordForm = lexeme.homonyms.get(treeData.paradigmNum);
+
+            lookupResultList.add(new LookupResult(foundWordForm, lexeme));
+        }
+    }
 
-                lookupResultList.add(new LookupResult(foundWordForm, lexeme));
+    /**
+     * Search wordform in dictionary, without materializing word forms of found lexemes
+     *
+     * @param toFind arbitrary wordform
+     * @return list of handles to lexemes-homonym, containing specified wordform
+     */
+    public ArrayList<LookupHit> lookupHits(String toFind)
+    {
+        ArrayList<LookupHit> hits = new ArrayList<>();
+        List<DictionaryHelper.TreeData> treeDataList = descend(toFind);
+        if(treeDataList != null) {
+            for (DictionaryHelper.TreeData treeData : treeDataList) {
+                hits.add(new LookupHit(lexemeTable.handle(treeData.lexemeRecNum), treeData.paradigmNum));
             }
         }
+        return hits;
+    }
 
-        return lookupResultList;
+    /**
+     * Find ids of lexemes, which have specified word form. Lemma id is id of lexeme, so it could be resolved with
+     * {@link #lemma(int)} or {@link LexemeTable#handle(int)}. Neither lexemes nor word forms are built
+     *
+     * @param toFind arbitrary wordform
+     * @return distinct lemma ids in order of tree data, empty array if word form is not found
+     */
+    public int[] lemmaIds(String toFind) {
+        List<DictionaryHelper.TreeData> treeDataList = descend(toFind);
+        if(treeDataList == null) {
+            return NO_LEMMAS;
+        }
+        int[] result = new int[treeDataList.size()];
+        int size = 0;
+        for (DictionaryHelper.TreeData treeData : treeDataList) {
+            int lexemeId = treeData.lexemeRecNum;
+            boolean found = false;
+            for (int i = 0; i < size && !found; i++) {  // Homonyms are few, linear search is the fastest
+                found = result[i] == lexemeId;
+            }
+            if(!found) {
+                result[size++] = lexemeId;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
     }
 
+    /**
+     * @return normal form of lexeme
+     */
+    public String lemma(int lemmaId) {
+        String result = lemmas[lemmaId];
+        if(result == null) {
+            result = lexemeTable.lemma(lemmaId);
+            lemmas[lemmaId] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Find normal forms of lexemes, which have specified word form. Unlike {@link #lookup(String)}, it doesn't
+     * build lexemes and word forms
+     *
+     * @param toFind arbitrary wordform
+     * @return normal forms of found lexemes, without repeats
+     */
+    public List<String> lemmatize(String toFind) {
+        int[] lemmaIds = lemmaIds(toFind);
+        if(lemmaIds.length == 1) {
+            return Collections.singletonList(lemma(lemmaIds[0]));
+        }
+        List<String> result = new ArrayList<>(lemmaIds.length);
+        for (int lemmaId : lemmaIds) {
+            String lemma = lemma(lemmaId);
+            if(!result.contains(lemma)) {   // Different lexemes could have the same lemma
+                result.add(lemma);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find word forms matching pattern, see {@link WordPattern} for syntax. Patterns starting with star have to
+     * walk the whole tree, use {@link SuffixIndex#findWords(String, int)} for them
+     *
+     * @param limit maximal number of word forms to return
+     * @return distinct word forms in order of letter codes
+     * @throws IllegalArgumentException if pattern is malformed
+     */
+    public List<String> findWords(String pattern, int limit) {
+        List<String> result = new ArrayList<>();
+        if(limit > 0) {
+            WordPattern.compile(pattern, prefixTree.getAlphabet()).forEachMatch(prefixTree, () -> false, (word, treeDataList) -> {
+                result.add(word);
+                return result.size() < limit;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Pass hits of word forms matching pattern to consumer, one by one
+     *
+     * @param limit maximal number of hits to pass
+     * @param cancelled checked on every visited node of tree, search is stopped as soon as it returns true
+     * @return number of hits passed to consumer
+     */
+    public int findByPattern(WordPattern pattern, int limit, BooleanSupplier cancelled, Consumer<LookupHit> consumer) {
+        if(limit <= 0) {
+            return 0;
+        }
+        int[] found = new int[1];
+        pattern.forEachMatch(prefixTree, cancelled, (word, treeDataList) -> {
+            for (DictionaryHelper.TreeData treeData : treeDataList) {
+                consumer.accept(new LookupHit(lexemeTable.handle(treeData.lexemeRecNum), treeData.paradigmNum));
+                if(++found[0] == limit) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    private Lexeme makeLexeme(int lexemeRecNum) {
+        return lexemeTable.handle(lexemeRecNum).toLexeme();
+    }
 
 }
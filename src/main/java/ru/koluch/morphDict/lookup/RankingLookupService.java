@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:14
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookup service, which ranks homonyms by frequency priors of their ancodes and paradigms, most probable first.
+ * Scores are computed on tree data, before lexemes are built, so {@link #lookupBest(String)} builds only one
+ * lexeme
+ */
+public class RankingLookupService implements LookupService {
+
+    private final PrefixTreeLookupService lookupService;
+    private final FrequencyPriors priors;
+
+    public RankingLookupService(PrefixTreeLookupService lookupService, FrequencyPriors priors) {
+        this.lookupService = lookupService;
+        this.priors = priors;
+    }
+
+    /**
+     * Search wordform in dictionary
+     *
+     * @return list of lexemes-homonym, containing specified wordform, most probable first
+     */
+    @Override
+    public ArrayList<LookupResult> lookup(String toFind) {
+        ArrayList<LookupResult> result = new ArrayList<>();
+        List<DictionaryHelper.TreeData> treeDataList = lookupService.descend(toFind);
+        if(treeDataList != null) {
+            lookupService.materialize(rank(treeDataList), result);
+        }
+        return result;
+    }
+
+    /**
+     * Search wordform in dictionary and build only the most probable result
+     *
+     * @return the most probable lexeme containing specified wordform, or empty if wordform is not found
+     */
+    public Optional<LookupResult> lookupBest(String toFind) {
+        List<DictionaryHelper.TreeData> treeDataList = lookupService.descend(toFind);
+        if(treeDataList == null || treeDataList.isEmpty()) {
+            return Optional.empty();
+        }
+        DictionaryHelper.TreeData best = treeDataList.get(0);
+        float bestScore = score(best);
+        for (int i = 1; i < treeDataList.size(); i++) {
+            float score = score(treeDataList.get(i));
+            if(score > bestScore) {
+                best = treeDataList.get(i);
+                bestScore = score;
+            }
+        }
+        List<LookupResult> result = new ArrayList<>(1);
+        lookupService.materialize(Collections.singletonList(best), result);
+        return Optional.of(result.get(0));
+    }
+
+    /**
+     * @return score of tree data, the larger the more probable
+     */
+    public float score(DictionaryHelper.TreeData treeData) {
+        LexemeTable lexemeTable = lookupService.getLexemeTable();
+        int paradigmId = lexemeTable.paradigmId(treeData.lexemeRecNum);
+        return priors.score(lexemeTable.getTemplates().ancodeId(paradigmId, treeData.paradigmNum), paradigmId);
+    }
+
+    /**
+     * @return tree data sorted by score, stable for equal scores
+     */
+    private List<DictionaryHelper.TreeData> rank(List<DictionaryHelper.TreeData> treeDataList) {
+        int size = treeDataList.size();
+        if(size < 2) {
+            return treeDataList;
+        }
+        // Insertion sort of indexes by score: homonyms are few
+        float[] scores = new float[size];
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(treeDataList.get(i));
+            int j = i;
+            while(j > 0 && scores[order[j - 1]] < scores[i]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        List<DictionaryHelper.TreeData> result = new ArrayList<>(size);
+        for (int index : order) {
+            result.add(treeDataList.get(index));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:54
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.lookup.data.LookupHit;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.prefixTree.WordPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Index of word forms by their endings: prefix tree over reversed word forms (see
+ * {@link DictionaryHelper#buildSuffixTree(Dictionary)}). Word forms with the same suffix are in one subtree, so
+ * they are found without scanning the whole dictionary.
+ * <p>
+ * Word forms are returned in order of reversed spelling, so the closest rhymes come together
+ */
+public class SuffixIndex {
+
+    private final LexemeTable lexemeTable;
+    private final PrefixTree<DictionaryHelper.TreeData> suffixTree;
+
+    /**
+     * Build index for dictionary
+     */
+    public SuffixIndex(Dictionary dictionary) {
+        this(new LexemeTable(dictionary), DictionaryHelper.buildSuffixTree(dictionary));
+    }
+
+    /**
+     * @param lexemeTable table of lexemes, which are referenced by tree data
+     * @param suffixTree tree over reversed word forms
+     */
+    public SuffixIndex(LexemeTable lexemeTable, PrefixTree<DictionaryHelper.TreeData> suffixTree) {
+        this.lexemeTable = lexemeTable;
+        this.suffixTree = suffixTree;
+    }
+
+    public LexemeTable getLexemeTable() {
+        return lexemeTable;
+    }
+
+    public PrefixTree<DictionaryHelper.TreeData> getSuffixTree() {
+        return suffixTree;
+    }
+
+    /**
+     * Pass word forms ending with suffix to consumer, one by one, without collecting them
+     *
+     * @param limit maximal number of word forms to pass
+     * @return number of word forms passed to consumer
+     * @throws IllegalArgumentException if suffix contains letters outside of alphabet
+     */
+    public int findBySuffix(String suffix, int limit, Consumer<LookupHit> consumer) {
+        PrefixTree<DictionaryHelper.TreeData> subtree = suffixTree.subtree(reverse(suffix));
+        if(subtree == null || limit <= 0) {
+            return 0;
+        }
+        int[] found = new int[1];
+        subtree.forEachWhile((key, treeDataList) -> {
+            for (DictionaryHelper.TreeData treeData : treeDataList) {
+                consumer.accept(new LookupHit(lexemeTable.handle(treeData.lexemeRecNum), treeData.paradigmNum));
+                if(++found[0] == limit) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    /**
+     * Find word forms ending with suffix
+     *
+     * @param limit maximal number of word forms to return
+     * @throws IllegalArgumentException if suffix contains letters outside of alphabet
+     */
+    public List<LookupHit> findBySuffix(String suffix, int limit) {
+        List<LookupHit> result = new ArrayList<>();
+        findBySuffix(suffix, limit, result::add);
+        return result;
+    }
+
+    /**
+     * Count word forms ending with suffix, without making hits for them
+     *
+     * @throws IllegalArgumentException if suffix contains letters outside of alphabet
+     */
+    public long countBySuffix(String suffix) {
+        PrefixTree<DictionaryHelper.TreeData> subtree = suffixTree.subtree(reverse(suffix));
+        if(subtree == null) {
+            return 0;
+        }
+        long[] count = new long[1];
+        subtree.forEach((key, treeDataList) -> count[0] += treeDataList.size());
+        return count[0];
+    }
+
+    /**
+     * Find word forms matching pattern, see {@link WordPattern} for syntax. Pattern is matched backwards, so it's
+     * much faster than {@link PrefixTreeLookupService#findWords(String, int)} for patterns like {@code *ость}
+     *
+     * @param limit maximal number of word forms to return
+     * @return distinct word forms in order of reversed spelling
+     * @throws IllegalArgumentException if pattern is malformed
+     */
+    public List<String> findWords(String pattern, int limit) {
+        List<String> result = new ArrayList<>();
+        if(limit > 0) {
+            WordPattern.compile(pattern, suffixTree.getAlphabet()).reverse().forEachMatch(suffixTree, () -> false, (reversedWord, treeDataList) -> {
+                result.add(reverse(reversedWord));
+                return result.size() < limit;
+            });
+        }
+        return result;
+    }
+
+    private static String reverse(String string) {
+        return new StringBuilder(string).reverse().toString();
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:43
+ */
+package ru.koluch.morphDict.lookup;
+
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.lookup.data.Lexeme;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared store of canonical lexemes (with their word forms), built by lookup service. When lookup service has a
+ * store, lexeme is materialized only once and every next lookup returns the same {@link Lexeme} and
+ * {@link ru.koluch.morphDict.lookup.data.WordForm} instances.
+ * <p>
+ * Store is limited by number of lexemes, so it's possible to trade a known amount of memory for lower latency.
+ * Use {@link #estimateBytes(Dictionary)} to find out how much memory fully filled store would take.
+ * <p>
+ * Stored lexemes are aliased: every caller gets the same instance, and its homonyms are unmodifiable.
+ * <p>
+ * Store is thread-safe. Lexemes are immutable, so they are published without locking; when two threads
+ * materialize the same lexeme concurrently, the first stored instance wins and is returned to both
+ */
+public class WordFormStore {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    // Rough sizes of objects for 64-bit JVM with compressed references
+    static final int LEXEME_BYTES = 16 + 16 + 24 + 16;    // Lexeme, unmodifiable view of homonyms, ArrayList and its array header
+    static final int WORD_FORM_BYTES = 32 + 4;            // WordForm and reference to it from homonyms array
+
+    private final AtomicReferenceArray<Lexeme> lexemes;
+    private final int maxLexemes;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * Store, which could keep all lexemes of dictionary
+     */
+    public WordFormStore(Dictionary dictionary) {
+        this(dictionary, UNLIMITED);
+    }
+
+    /**
+     * @param dictionary dictionary which is going to be used with store
+     * @param maxLexemes maximum number of lexemes to keep
+     */
+    public WordFormStore(Dictionary dictionary, int maxLexemes) {
+        this(dictionary.lexemeRecs.size(), maxLexemes);
+    }
+
+    /**
+     * @param lexemeCount number of lexemes in dictionary which is going to be used with store
+     * @param maxLexemes maximum number of lexemes to keep
+     */
+    public WordFormStore(int lexemeCount, int maxLexemes) {
+        if(maxLexemes < 0) {
+            throw new IllegalArgumentException("Maximum number of lexemes should not be negative: " + maxLexemes);
+        }
+        this.lexemes = new AtomicReferenceArray<>(lexemeCount);
+        this.maxLexemes = maxLexemes;
+    }
+
+    /**
+     * Estimate, how much memory store would take if all lexemes of dictionary are stored
+     *
+     * @return estimated size in bytes
+     */
+    public static long estimateBytes(Dictionary dictionary) {
+        long result = 16 + 4L * dictionary.lexemeRecs.size();
+        for (int i = 0; i < dictionary.lexemeRecs.size(); i++) {
+            int forms = dictionary.paradigmList.get(dictionary.lexemeRecs.get(i).paradigmIndex).size();
+            result += LEXEME_BYTES + (long)forms * WORD_FORM_BYTES;
+        }
+        return result;
+    }
+
+    /**
+     * @return stored lexeme, or null if lexeme wasn't stored yet
+     */
+    Lexeme get(int lexemeRecNum) {
+        return lexemes.get(lexemeRecNum);
+    }
+
+    /**
+     * Store lexeme, if there is free room and it wasn't stored yet
+     *
+     * @return stored instance of lexeme, or lexeme itself if it couldn't be stored
+     */
+    Lexeme put(int lexemeRecNum, Lexeme lexeme) {
+        Lexeme stored = lexemes.get(lexemeRecNum);
+        if(stored != null) {
+            return stored;
+        }
+        // Room is reserved before storing, so concurrent puts never overfill the store
+        if(size.incrementAndGet() > maxLexemes) {
+            size.decrementAndGet();
+            return lexeme;
+        }
+        if(!lexemes.compareAndSet(lexemeRecNum, null, lexeme)) {
+            size.decrementAndGet();     // Another thread has stored the same lexeme
+            return lexemes.get(lexemeRecNum);
+        }
+        bytes.addAndGet(LEXEME_BYTES + (long)lexeme.homonyms.size() * WORD_FORM_BYTES);
+        return lexeme;
+    }
+
+    /**
+     * @return maximum number of lexemes to keep
+     */
+    public int getMaxLexemes() {
+        return maxLexemes;
+    }
+
+    /**
+     * @return true, if no more lexemes could be stored
+     */
+    public boolean isFull() {
+        return size.get() >= Math.min(maxLexemes, lexemes.length());
+    }
+
+    /**
+     * @return number of stored lexemes
+     */
+    public int size() {
+        return Math.min(size.get(), maxLexemes);
+    }
+
+    /**
+     * @return estimated size of stored lexemes and word forms in bytes (strings are shared with dictionary and
+     * are not counted)
+     */
+    public long estimatedBytes() {
+        return 16 + 4L * lexemes.length() + bytes.get();
+    }
+}
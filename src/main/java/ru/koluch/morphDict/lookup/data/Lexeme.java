@@ -7,21 +7,23 @@
  */
 package ru.koluch.morphDict.lookup.data;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Lexeme is word, containing all word forms and common attributes (through common ancode)
  * <p>
- * Immutable data-class
+ * Immutable data-class. Lexemes could be shared by many callers (see
+ * {@link ru.koluch.morphDict.lookup.WordFormStore}), so list of homonyms is unmodifiable
  */
 public class Lexeme {
 
     
     /**
-     * Homonyms of current word form
+     * Homonyms of current word form, unmodifiable
      */
-    public final ArrayList<WordForm> homonyms;
+    public final List<WordForm> homonyms;
     
 
     /**
@@ -29,8 +31,8 @@ public class Lexeme {
      */
     public final Optional<String> commonAncode;
     
-    public Lexeme(ArrayList<WordForm> homonyms, Optional<String> commonAn) {
-        this.homonyms = homonyms;
+    public Lexeme(List<WordForm> homonyms, Optional<String> commonAn) {
+        this.homonyms = Collections.unmodifiableList(homonyms);
         this.commonAncode = commonAn;
     }
 
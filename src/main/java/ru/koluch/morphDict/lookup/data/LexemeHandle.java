@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:44
+ */
+package ru.koluch.morphDict.lookup.data;
+
+import ru.koluch.morphDict.lookup.ParadigmTemplates;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Lightweight reference to lexeme. Unlike {@link Lexeme}, it doesn't hold word forms: every form is produced on
+ * demand from paradigm template
+ * <p>
+ * Immutable data-class
+ */
+public class LexemeHandle {
+
+    /**
+     * Index of lexeme record in dictionary
+     */
+    public final int lexemeId;
+
+    public final String basis;
+
+    public final int paradigmId;
+
+    /**
+     * Index of global prefix in dictionary, or {@link ParadigmTemplates#NO_PREFIX}
+     */
+    public final int prefixId;
+
+    /**
+     * Index of accent model in dictionary
+     */
+    public final int accentId;
+
+    /**
+     * Common ancode for lexeme
+     */
+    public final Optional<String> commonAncode;
+
+    private final ParadigmTemplates templates;
+
+    public LexemeHandle(int lexemeId, String basis, int paradigmId, int prefixId, int accentId, Optional<String> commonAncode, ParadigmTemplates templates) {
+        this.lexemeId = lexemeId;
+        this.basis = basis;
+        this.paradigmId = paradigmId;
+        this.prefixId = prefixId;
+        this.accentId = accentId;
+        this.commonAncode = commonAncode;
+        this.templates = templates;
+    }
+
+    /**
+     * @return number of word forms of lexeme
+     */
+    public int size() {
+        return templates.formCount(paradigmId);
+    }
+
+    public String word(int formNum) {
+        return templates.makeWord(basis, paradigmId, prefixId, formNum);
+    }
+
+    public String ancode(int formNum) {
+        return templates.ancode(paradigmId, formNum);
+    }
+
+    public int ancodeId(int formNum) {
+        return templates.ancodeId(paradigmId, formNum);
+    }
+
+    /**
+     * @return number of stressed vowel, counted from the end of word, or {@link WordForm#NO_STRESS}
+     */
+    public int stress(int formNum) {
+        return templates.stress(accentId, formNum);
+    }
+
+    public WordForm wordForm(int formNum) {
+        return templates.makeWordForm(basis, paradigmId, prefixId, accentId, formNum);
+    }
+
+    /**
+     * @return normal form of lexeme
+     */
+    public String lemma() {
+        return word(0);
+    }
+
+    /**
+     * Materialize all word forms of lexeme
+     */
+    public Lexeme toLexeme() {
+        int size = size();
+        ArrayList<WordForm> homonyms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            homonyms.add(wordForm(i));
+        }
+        return new Lexeme(homonyms, commonAncode);
+    }
+
+    @Override
+    public String toString() {
+        return "LexemeHandle{" +
+                "lexemeId=" + lexemeId +
+                ", basis='" + basis + '\'' +
+                ", paradigmId=" + paradigmId +
+                ", prefixId=" + prefixId +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:44
+ */
+package ru.koluch.morphDict.lookup.data;
+
+/**
+ * Single record of lookup results in terms of lexeme handles. Lightweight alternative to {@link LookupResult}
+ * <p>
+ * Immutable data-class
+ */
+public class LookupHit {
+
+    /**
+     * Lexeme containing found word form
+     */
+    public final LexemeHandle lexeme;
+
+    /**
+     * Number of found word form in lexeme paradigm
+     */
+    public final int formNum;
+
+    public LookupHit(LexemeHandle lexeme, int formNum) {
+        this.lexeme = lexeme;
+        this.formNum = formNum;
+    }
+
+    public String ancode() {
+        return lexeme.ancode(formNum);
+    }
+
+    public WordForm wordForm() {
+        return lexeme.wordForm(formNum);
+    }
+
+    public LookupResult toLookupResult() {
+        Lexeme fullLexeme = lexeme.toLexeme();
+        return new LookupResult(fullLexeme.homonyms.get(formNum), fullLexeme);
+    }
+}
@@ -18,13 +18,33 @@ public class WordForm {
     public final String base;
     public final Optional<String> ending;
     public final String ancode;
+
+    /**
+     * Number of stressed vowel, counted from the end of word (0 is the last vowel), or {@link #NO_STRESS}
+     */
+    public final int stress;
+
+    public static final int NO_STRESS = -1;
+
+    private static final String VOWELS = "аеёиоуыэюяaeiouy";
+    private static final char COMBINING_ACUTE_ACCENT = '\u0301';
+
+    /**
+     * Cached result of {@link #makeWord()}. Racy initialization is safe here, because strings are immutable
+     */
+    private String word;
     
 
     public WordForm(Optional<String> prefix, String base, Optional<String> ending, String ancode) {
+        this(prefix, base, ending, ancode, NO_STRESS);
+    }
+
+    public WordForm(Optional<String> prefix, String base, Optional<String> ending, String ancode, int stress) {
         this.prefix = prefix;
         this.base = base;
         this.ending = ending;
         this.ancode = ancode;
+        this.stress = stress;
     }
 
     @Override
@@ -34,10 +54,49 @@ public class WordForm {
                 ", base='" + base + '\'' +
                 ", ending=" + ending +
                 ", ancode='" + ancode + '\'' +
+                ", stress=" + stress +
                 '}';
     }
 
     public String makeWord() {
-        return prefix.orElse("") +base + ending.orElse("");
+        String result = word;
+        if(result == null) {
+            result = prefix.orElse("") +base + ending.orElse("");
+            word = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return index of stressed letter in word, or -1 if stress is unknown
+     */
+    public int stressIndex() {
+        if(stress == NO_STRESS) {
+            return -1;
+        }
+        String word = makeWord();
+        int vowel = 0;
+        for (int i = word.length() - 1; i >= 0; i--) {
+            if(VOWELS.indexOf(Character.toLowerCase(word.charAt(i))) != -1 && vowel++ == stress) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return word with combining acute accent (U+0301) after stressed letter, or just word if stress is unknown
+     */
+    public String makeStressedWord() {
+        int index = stressIndex();
+        String word = makeWord();
+        if(index == -1) {
+            return word;
+        }
+        return new StringBuilder(word.length() + 1)
+                .append(word, 0, index + 1)
+                .append(COMBINING_ACUTE_ACCENT)
+                .append(word, index + 1, word.length())
+                .toString();
     }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:56
+ */
+package ru.koluch.morphDict.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values with log-linear buckets, in the manner of HdrHistogram: values below
+ * 64 are counted exactly, larger values are grouped into 32 buckets per power of two, so relative error of
+ * reported percentiles is about 3%
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;     // 32
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;         // 64
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long value) {
+        counts.incrementAndGet(index(Math.max(value, 0)));
+    }
+
+    static int index(long value) {
+        if(value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;   // >= 1
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @return largest value, which falls into bucket
+     */
+    static long highestValue(int index) {
+        if(index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long count() {
+        long result = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            result += counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param percentile percentile, from 0 to 100
+     * @return value, which is greater or equal to specified percent of recorded values, or 0 if histogram is empty
+     */
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if(total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if(seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @return largest recorded value (with precision of bucket), or 0 if histogram is empty
+     */
+    public long max() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if(counts.get(i) != 0) {
+                return highestValue(i);
+            }
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+    }
+}
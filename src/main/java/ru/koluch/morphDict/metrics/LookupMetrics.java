@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:56
+ */
+package ru.koluch.morphDict.metrics;
+
+/**
+ * Receiver of lookup measurements, made by {@link ru.koluch.morphDict.lookup.InstrumentedLookupService} or
+ * {@link ru.koluch.morphDict.lookup.PrefixTreeLookupService}. Implementations should be thread-safe
+ */
+public interface LookupMetrics {
+
+    /**
+     * Record single lookup
+     *
+     * @param descentNanos time spent in tree descent, or -1 if it wasn't measured separately
+     * @param materializationNanos time spent building results, or -1 if it wasn't measured separately
+     * @param totalNanos total lookup time
+     * @param results number of found results
+     */
+    void record(long descentNanos, long materializationNanos, long totalNanos, int results);
+}
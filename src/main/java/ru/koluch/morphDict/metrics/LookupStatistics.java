@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:56
+ */
+package ru.koluch.morphDict.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of {@link LookupMetrics}: counts lookups and hits, keeps latency histograms and
+ * distribution of results number. Statistics could be read directly or through JMX, see {@link #register(String)}
+ */
+public class LookupStatistics implements LookupMetrics, LookupStatisticsMBean {
+
+    /**
+     * Results distribution has separate bucket for every number of results below this value, and one bucket for
+     * all larger numbers
+     */
+    public static final int MAX_RESULTS_BUCKET = 16;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder results = new LongAdder();
+    private final LongAdder descentNanos = new LongAdder();
+    private final LongAdder materializationNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray resultsDistribution = new AtomicLongArray(MAX_RESULTS_BUCKET + 1);
+    private volatile long startNanos = System.nanoTime();
+
+    @Override
+    public void record(long descentNanos, long materializationNanos, long totalNanos, int results) {
+        lookups.increment();
+        if(results == 0) {
+            misses.increment();
+        }
+        this.results.add(results);
+        if(descentNanos >= 0) {
+            this.descentNanos.add(descentNanos);
+        }
+        if(materializationNanos >= 0) {
+            this.materializationNanos.add(materializationNanos);
+        }
+        latency.record(totalNanos);
+        resultsDistribution.incrementAndGet(Math.min(results, MAX_RESULTS_BUCKET));
+    }
+
+    /**
+     * Register statistics in platform MBean server
+     *
+     * @param name name of statistics, used as "name" key of MBean object name
+     * @return object name of registered MBean
+     */
+    public ObjectName register(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("ru.koluch.morphDict:type=LookupStatistics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return lookups.sum() - misses.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long total = lookups.sum();
+        return total == 0 ? 0 : (double) (total - misses.sum()) / total;
+    }
+
+    /**
+     * @return average number of lookups per second since creation or last reset
+     */
+    @Override
+    public double getLookupsPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : lookups.sum() * 1e9 / elapsed;
+    }
+
+    @Override
+    public double getMeanResults() {
+        long total = lookups.sum();
+        return total == 0 ? 0 : (double) results.sum() / total;
+    }
+
+    /**
+     * @return number of lookups by number of results, last element counts lookups with
+     * {@link #MAX_RESULTS_BUCKET} or more results
+     */
+    public long[] getResultsDistribution() {
+        long[] result = new long[resultsDistribution.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = resultsDistribution.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param percentile percentile, from 0 to 100
+     * @return lookup latency in nanoseconds
+     */
+    public long getLatencyPercentile(double percentile) {
+        return latency.percentile(percentile);
+    }
+
+    @Override
+    public long getLatencyP50() {
+        return micros(latency.percentile(50));
+    }
+
+    @Override
+    public long getLatencyP90() {
+        return micros(latency.percentile(90));
+    }
+
+    @Override
+    public long getLatencyP99() {
+        return micros(latency.percentile(99));
+    }
+
+    @Override
+    public long getLatencyP999() {
+        return micros(latency.percentile(99.9));
+    }
+
+    @Override
+    public long getLatencyMax() {
+        return micros(latency.max());
+    }
+
+    /**
+     * @return total time spent in tree descent
+     */
+    @Override
+    public long getDescentTime() {
+        return micros(descentNanos.sum());
+    }
+
+    /**
+     * @return total time spent building lexemes and word forms
+     */
+    @Override
+    public long getMaterializationTime() {
+        return micros(materializationNanos.sum());
+    }
+
+    @Override
+    public void reset() {
+        lookups.reset();
+        misses.reset();
+        results.reset();
+        descentNanos.reset();
+        materializationNanos.reset();
+        latency.reset();
+        for (int i = 0; i < resultsDistribution.length(); i++) {
+            resultsDistribution.set(i, 0);
+        }
+        startNanos = System.nanoTime();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
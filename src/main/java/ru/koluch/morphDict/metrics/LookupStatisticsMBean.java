@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:56
+ */
+package ru.koluch.morphDict.metrics;
+
+/**
+ * JMX interface of {@link LookupStatistics}. Times are in microseconds
+ */
+public interface LookupStatisticsMBean {
+
+    long getLookups();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRatio();
+
+    double getLookupsPerSecond();
+
+    double getMeanResults();
+
+    long getLatencyP50();
+
+    long getLatencyP90();
+
+    long getLatencyP99();
+
+    long getLatencyP999();
+
+    long getLatencyMax();
+
+    long getDescentTime();
+
+    long getMaterializationTime();
+
+    void reset();
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:46
+ */
+package ru.koluch.morphDict.pool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool keeping strings as usual {@link String} objects on heap
+ */
+public class HeapStringPool implements StringPool {
+
+    private final ArrayList<String> strings = new ArrayList<>();
+    private Map<String, Integer> ids = new HashMap<>();
+    private long bytes;
+
+    @Override
+    public int add(String string) {
+        Integer id = ids.get(string);
+        if(id == null) {
+            id = strings.size();
+            strings.add(string);
+            ids.put(string, id);
+            bytes += 24 + 16 + 2L * string.length();
+        }
+        return id;
+    }
+
+    @Override
+    public String get(int id) {
+        return strings.get(id);
+    }
+
+    @Override
+    public StringPool newPool() {
+        return new HeapStringPool();
+    }
+
+    @Override
+    public void trim() {
+        strings.trimToSize();
+        ids = new HashMap<>();
+    }
+
+    @Override
+    public long bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:46
+ */
+package ru.koluch.morphDict.pool;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool keeping all strings in a single direct {@link ByteBuffer}, outside of java heap, so garbage collector
+ * doesn't have to mark them. Strings are decoded on every {@link #get(int)}.
+ * <p>
+ * String is stored as header with its length, followed by characters. Strings, which could be represented in
+ * CP1251, take one byte per character, others are stored as UTF-16. Id of string is its offset in buffer
+ */
+public class OffHeapStringPool implements StringPool {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private static final char[] decodeTable = new char[256];
+    private static final byte[] encodeTable = new byte[Character.MAX_VALUE + 1];
+    static {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        String chars = new String(bytes, Charset.forName("windows-1251"));
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            decodeTable[i] = c;
+            if(c != '\uFFFD') {
+                encodeTable[c] = (byte) i;
+            }
+        }
+    }
+
+    private ByteBuffer buffer;
+    private Map<String, Integer> ids = new HashMap<>();
+
+    public OffHeapStringPool() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial capacity of buffer in bytes
+     */
+    public OffHeapStringPool(int capacity) {
+        this.buffer = ByteBuffer.allocateDirect(Math.max(capacity, 16));
+    }
+
+    @Override
+    public int add(String string) {
+        Integer id = ids.get(string);
+        if(id == null) {
+            id = append(string);
+            ids.put(string, id);
+        }
+        return id;
+    }
+
+    private int append(String string) {
+        boolean narrow = isNarrow(string);
+        int length = string.length();
+        ensureCapacity(5 + (narrow ? length : 2 * length));
+
+        int id = buffer.position();
+        writeHeader((length << 1) | (narrow ? 0 : 1));
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if(narrow) {
+                buffer.put(encodeTable[c]);
+            }
+            else {
+                buffer.putChar(c);
+            }
+        }
+        return id;
+    }
+
+    private static boolean isNarrow(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if(c != 0 && encodeTable[c] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeHeader(int header) {
+        while((header & ~0x7F) != 0) {
+            buffer.put((byte) ((header & 0x7F) | 0x80));
+            header >>>= 7;
+        }
+        buffer.put((byte) header);
+    }
+
+    private void ensureCapacity(int required) {
+        if(buffer.remaining() < required) {
+            int capacity = Math.max(buffer.capacity(), 16);
+            while(capacity - buffer.position() < required) {
+                capacity *= 2;
+            }
+            resize(capacity);
+        }
+    }
+
+    private void resize(int capacity) {
+        ByteBuffer newBuffer = ByteBuffer.allocateDirect(capacity);
+        ((Buffer) buffer).flip();   // Cast keeps Java 8 compatibility: ByteBuffer.flip() appeared in Java 9
+        newBuffer.put(buffer);
+        buffer = newBuffer;
+    }
+
+    @Override
+    public String get(int id) {
+        ByteBuffer buffer = this.buffer;
+        int offset = id;
+        int header = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(offset++);
+            header |= (b & 0x7F) << shift;
+            shift += 7;
+        } while(b < 0);
+
+        char[] chars = new char[header >>> 1];
+        if((header & 1) == 0) {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = decodeTable[buffer.get(offset + i) & 0xFF];
+            }
+        }
+        else {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = buffer.getChar(offset + 2 * i);
+            }
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public StringPool newPool() {
+        return new OffHeapStringPool();
+    }
+
+    @Override
+    public void trim() {
+        ids = new HashMap<>();
+        if(buffer.position() < buffer.capacity()) {
+            resize(buffer.position());
+        }
+    }
+
+    @Override
+    public long bytes() {
+        return buffer.capacity();
+    }
+}
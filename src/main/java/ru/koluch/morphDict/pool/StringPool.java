@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:46
+ */
+package ru.koluch.morphDict.pool;
+
+/**
+ * Pool of strings, referenced by int ids. Equal strings added to pool get the same id.
+ * <p>
+ * Pool is filled by one thread while dictionary is built, after that it could be read concurrently
+ */
+public interface StringPool {
+
+    /**
+     * Add string to pool
+     *
+     * @return id of string
+     */
+    int add(String string);
+
+    /**
+     * @return string with specified id
+     */
+    String get(int id);
+
+    /**
+     * @return new empty pool of the same kind, e.g. for strings of a new version of dictionary
+     */
+    StringPool newPool();
+
+    /**
+     * Release auxiliary structures used while pool is filled. Strings could still be added after that, but they
+     * are not deduplicated anymore
+     */
+    void trim();
+
+    /**
+     * @return estimated memory used by pool strings, in bytes
+     */
+    long bytes();
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:47
+ */
+package ru.koluch.morphDict.prefixTree;
+
+import java.util.Arrays;
+
+/**
+ * Alphabet of prefix tree keys. Every letter has dense one-byte code, so keys could be stored and compared as
+ * byte arrays, and letter to code translation is a single table lookup
+ */
+public final class Alphabet {
+
+    /**
+     * Maximal number of letters, so every code fits into a byte
+     */
+    public static final int MAX_SIZE = 127;
+
+    /**
+     * 33 letters of russian alphabet, in alphabetical order
+     */
+    public static final Alphabet RUSSIAN = new Alphabet("абвгдеёжзийклмнопрстуфхцчшщъыьэюя");
+
+    /**
+     * 26 letters of english alphabet and apostrophe (used in forms like "o'clock")
+     */
+    public static final Alphabet ENGLISH = new Alphabet("abcdefghijklmnopqrstuvwxyz'");
+
+    /**
+     * 26 letters of english alphabet, umlauts and eszett
+     */
+    public static final Alphabet GERMAN = new Alphabet("abcdefghijklmnopqrstuvwxyzäöüß");
+
+    private static final byte NONE = -1;
+
+    private final String letters;
+    private final char minLetter;
+    private final byte[] codes;     // letter - minLetter -> code
+
+    /**
+     * @param letters all letters of alphabet, code of letter is its position in string. Lookups are fastest when
+     *                letters lie close to each other in Unicode
+     * @throws IllegalArgumentException if alphabet is empty, too large or contains repeated letters
+     */
+    public Alphabet(String letters) {
+        if(letters.isEmpty() || letters.length() > MAX_SIZE) {
+            throw new IllegalArgumentException("Alphabet should have from 1 to " + MAX_SIZE + " letters: " + letters);
+        }
+        this.letters = letters;
+
+        char min = Character.MAX_VALUE;
+        char max = Character.MIN_VALUE;
+        for (int i = 0; i < letters.length(); i++) {
+            min = (char) Math.min(min, letters.charAt(i));
+            max = (char) Math.max(max, letters.charAt(i));
+        }
+        this.minLetter = min;
+        this.codes = new byte[max - min + 1];
+        Arrays.fill(codes, NONE);
+        for (int i = 0; i < letters.length(); i++) {
+            if(codes[letters.charAt(i) - min] != NONE) {
+                throw new IllegalArgumentException("Repeated letter '" + letters.charAt(i) + "' in alphabet: " + letters);
+            }
+            codes[letters.charAt(i) - min] = (byte) i;
+        }
+    }
+
+    /**
+     * @return number of letters
+     */
+    public int size() {
+        return letters.length();
+    }
+
+    /**
+     * @return all letters, in order of their codes
+     */
+    public String letters() {
+        return letters;
+    }
+
+    /**
+     * @return code of letter, or -1 if letter doesn't belong to alphabet
+     */
+    public int code(char letter) {
+        int index = letter - minLetter;
+        return index >= 0 && index < codes.length ? codes[index] : NONE;
+    }
+
+    /**
+     * @return letter with specified code
+     */
+    public char letter(int code) {
+        return letters.charAt(code);
+    }
+
+    /**
+     * Encode string into array of letter codes
+     *
+     * @param target array to write codes to
+     * @param offset position in target array to write first code to
+     * @return position after last written code, or -1 if some letter doesn't belong to alphabet
+     */
+    public int encode(CharSequence string, byte[] target, int offset) {
+        for (int i = 0; i < string.length(); i++) {
+            int code = code(string.charAt(i));
+            if(code == NONE) {
+                return -1;
+            }
+            target[offset++] = (byte) code;
+        }
+        return offset;
+    }
+
+    /**
+     * @return string encoded as array of letter codes
+     * @throws IllegalArgumentException if some letter doesn't belong to alphabet
+     */
+    public byte[] encode(CharSequence string) {
+        byte[] result = new byte[string.length()];
+        if(encode(string, result, 0) == -1) {
+            throw new IllegalArgumentException("Bad key: '" + string + "' (allowed only letters of alphabet: " + letters + ")");
+        }
+        return result;
+    }
+
+    /**
+     * @return string made of letters with specified codes
+     */
+    public String decode(byte[] codes, int length) {
+        char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = letters.charAt(codes[i]);
+        }
+        return new String(result);
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:09
+ */
+package ru.koluch.morphDict.prefixTree;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter over keys of prefix tree. It answers "definitely absent" or "maybe present" without descending
+ * the tree; words with letters outside of alphabet are always absent.
+ * <p>
+ * Filter could be read concurrently, once all keys are added
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Alphabet alphabet;
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long keyCount;
+    private final double falsePositiveRate;
+
+    /**
+     * @param keyCount expected number of keys
+     * @param falsePositiveRate desired probability of "maybe present" answer for absent key
+     */
+    public BloomFilter(Alphabet alphabet, long keyCount, double falsePositiveRate) {
+        if(falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate should be between 0 and 1: " + falsePositiveRate);
+        }
+        long n = Math.max(keyCount, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.alphabet = alphabet;
+        this.bits = new long[(int) ((m + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.keyCount = keyCount;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Build filter with all keys of tree, which have data. Tree is walked once: hash of every node is computed from
+     * hash of its parent, and hashes of keys are collected, until their number is known and filter could be sized
+     */
+    public static <T> BloomFilter build(PrefixTree<T> tree, double falsePositiveRate) {
+        KeyHashes<T> keyHashes = new KeyHashes<>();
+        tree.walk(keyHashes);
+        BloomFilter result = new BloomFilter(tree.getAlphabet(), keyHashes.size, falsePositiveRate);
+        for (int i = 0; i < keyHashes.size; i++) {
+            result.addHash(keyHashes.hashes[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Collector of FNV hashes of tree keys
+     */
+    private static class KeyHashes<T> implements NodeVisitor<T> {
+        long[] pathHashes = new long[32];   // depth -> hash of key prefix of this length
+        long[] hashes = new long[1024];
+        int size;
+
+        @Override
+        public boolean enter(PrefixTree<T> node, byte[] key, int depth) {
+            if(depth + 1 > pathHashes.length) {
+                pathHashes = Arrays.copyOf(pathHashes, pathHashes.length * 2);
+            }
+            pathHashes[depth] = depth == 0 ? FNV_OFFSET : (pathHashes[depth - 1] ^ key[depth - 1]) * FNV_PRIME;
+            if(node.data != null) {
+                if(size == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, size * 2);
+                }
+                hashes[size++] = pathHashes[depth];
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Add key, encoded with alphabet of filter
+     */
+    public void add(byte[] key, int length) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ key[i]) * FNV_PRIME;
+        }
+        addHash(hash);
+    }
+
+    /**
+     * Add key
+     *
+     * @throws IllegalArgumentException if key has letters outside of alphabet
+     */
+    public void add(CharSequence key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            int code = alphabet.code(key.charAt(i));
+            if(code == -1) {
+                throw new IllegalArgumentException("Bad letter: '" + key.charAt(i) + "' (allowed only letters of alphabet)");
+            }
+            hash = (hash ^ code) * FNV_PRIME;
+        }
+        addHash(hash);
+    }
+
+    private void addHash(long hash) {
+        hash = mix(hash);
+        long hash2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * hash2) & Long.MAX_VALUE) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @return false, if word is definitely not a key of tree
+     */
+    public boolean mightContain(CharSequence word) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < word.length(); i++) {
+            int code = alphabet.code(word.charAt(i));
+            if(code == -1) {
+                return false;
+            }
+            hash = (hash ^ code) * FNV_PRIME;
+        }
+        hash = mix(hash);
+        long hash2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * hash2) & Long.MAX_VALUE) % bitCount;
+            if((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Final step of MurmurHash3, spreads FNV hash over all bits
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * @return probability of false positive answer for number of keys filter was built for
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * Math.max(keyCount, 1) / bitCount), hashCount);
+    }
+
+    /**
+     * @return false positive rate, requested when filter was made
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * @return size of bit array in bytes
+     */
+    public long bytes() {
+        return bits.length * 8L;
+    }
+}
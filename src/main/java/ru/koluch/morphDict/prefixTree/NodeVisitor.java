@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:26
+ */
+package ru.koluch.morphDict.prefixTree;
+
+/**
+ * Visitor of prefix tree nodes, see {@link PrefixTree#walk(NodeVisitor)}. Key of node is passed as array of letter
+ * codes, which is owned by walk and is overwritten when walk goes on
+ */
+public interface NodeVisitor<T> {
+
+    /**
+     * Called before branches of node are visited
+     *
+     * @param key letter codes of node key
+     * @param depth depth of node, i.e. length of its key
+     * @return false to stop the walk
+     */
+    boolean enter(PrefixTree<T> node, byte[] key, int depth);
+
+    /**
+     * Called after all branches of node are visited
+     */
+    default void leave(PrefixTree<T> node, byte[] key, int depth) {
+    }
+}
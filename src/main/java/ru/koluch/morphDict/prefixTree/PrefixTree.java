@@ -9,77 +9,203 @@ package ru.koluch.morphDict.prefixTree;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 
+/**
+ * Prefix tree (trie) over keys made of letters of some alphabet. Keys are not stored in tree: every node has a
+ * branch for every letter of alphabet, indexed by letter code
+ */
 public class PrefixTree<T> {
 
+    /**
+     * Alphabet of trees made without explicit alphabet
+     */
+    public static final Alphabet ALPHABET = Alphabet.RUSSIAN;
+
+    private final Alphabet alphabet;    // Shared by all nodes of tree
+
     public PrefixTree[] branches;
 
     public List<T> data;
 
     public PrefixTree() {
+        this(ALPHABET);
     }
 
-    public void add(String wordForm, T data) {
-        if(wordForm.length()==0) {
-            if(this.data == null) {
-                this.data = new ArrayList<>();
-            }
-            this.data.add(data);
-        }
-        else {
-            char nextBranch = wordForm.charAt(0);
-            int index = getIndex(nextBranch);
+    public PrefixTree(Alphabet alphabet) {
+        this.alphabet = alphabet;
+    }
 
-            String rest = wordForm.substring(1);
-            if(this.branches==null) {
-                this.branches = new PrefixTree[33];  // 33 letters in russian alphabet
-            }
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
 
-            PrefixTree<T> nextTree;
-            if(this.branches[index]==null) {
-                nextTree = new PrefixTree<T>();
-                this.branches[index] = nextTree;
+    public void add(String wordForm, T data) {
+        byte[] key = alphabet.encode(wordForm);
+        add(key, key.length, data);
+    }
+
+    /**
+     * Add data for key, encoded with alphabet of tree
+     *
+     * @param key array of letter codes
+     * @param length length of key in array
+     */
+    @SuppressWarnings("unchecked")
+    public void add(byte[] key, int length, T data) {
+        PrefixTree<T> tree = this;
+        for (int i = 0; i < length; i++) {
+            int index = key[i];
+            if(tree.branches==null) {
+                tree.branches = new PrefixTree[alphabet.size()];
             }
-            else {
-                nextTree = this.branches[index];
+            PrefixTree<T> nextTree = tree.branches[index];
+            if(nextTree==null) {
+                nextTree = new PrefixTree<>(alphabet);
+                tree.branches[index] = nextTree;
             }
-            nextTree.add(rest, data);
+            tree = nextTree;
+        }
+        if(tree.data == null) {
+            tree.data = new ArrayList<>();
         }
+        tree.data.add(data);
     }
 
     private int getIndex(char nextBranch) {
-        int index;
-        if(nextBranch >= 'а' && nextBranch <= 'е') {
-            index = nextBranch - 'а';
-        }
-        else if (nextBranch=='ё') {
-            index = 'е' - 'а' + 1;
-        }
-        else if (nextBranch > 'е' && nextBranch <= 'я') {
-            index = nextBranch - 'а' + 1;
-        }
-        else {
-            throw new IllegalArgumentException("Bad branch: '" + nextBranch + "' (allowed only russian letters)");
+        int index = alphabet.code(nextBranch);
+        if(index == -1) {
+            throw new IllegalArgumentException("Bad branch: '" + nextBranch + "' (allowed only letters of alphabet)");
         }
         return index;
     }
 
+    /**
+     * Same as {@link #get(String)}, but without wrapping result
+     *
+     * @return data list for key, or null if key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> find(String wordForm) {
+        PrefixTree<T> tree = this;
+        for (int i = 0; i < wordForm.length(); i++) {
+            int index = getIndex(wordForm.charAt(i));
+            if(tree.branches==null || tree.branches[index]==null) {
+                return null;
+            }
+            tree = tree.branches[index];
+        }
+        return tree.data;
+    }
+
+    /**
+     * Find data for key, encoded with alphabet of tree
+     *
+     * @param key array of letter codes
+     * @param length length of key in array
+     * @return data list for key, or null if key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> find(byte[] key, int length) {
+        PrefixTree<T> tree = this;
+        for (int i = 0; i < length; i++) {
+            int index = key[i];
+            if(tree.branches==null || tree.branches[index]==null) {
+                return null;
+            }
+            tree = tree.branches[index];
+        }
+        return tree.data;
+    }
 
     public Optional<List<T>> get(String wordForm) {
-        if(wordForm.length()==0) {
-            return Optional.ofNullable(this.data);
+        return Optional.ofNullable(find(wordForm));
+    }
+
+    /**
+     * @return node of tree for keys starting with prefix, or null if there are no such keys
+     */
+    @SuppressWarnings("unchecked")
+    public PrefixTree<T> subtree(String prefix) {
+        PrefixTree<T> tree = this;
+        for (int i = 0; i < prefix.length(); i++) {
+            int index = getIndex(prefix.charAt(i));
+            if(tree.branches==null || tree.branches[index]==null) {
+                return null;
+            }
+            tree = tree.branches[index];
         }
-        else {
-            char nextBranch = wordForm.charAt(0);
-            String rest = wordForm.substring(1);
+        return tree;
+    }
 
-            int index = getIndex(nextBranch);
-            if(this.branches==null || this.branches[index]==null) {
-                return Optional.empty();
+    /**
+     * Visit all keys of tree, which have data, in order of letter codes. Tree is walked with explicit stack, so
+     * deep trees don't overflow thread stack
+     *
+     * @param action consumer of key and its data list
+     */
+    public void forEach(BiConsumer<String, List<T>> action) {
+        forEachWhile((key, data) -> {
+            action.accept(key, data);
+            return true;
+        });
+    }
+
+    /**
+     * Same as {@link #forEach(BiConsumer)}, but walk is stopped as soon as action returns false
+     *
+     * @return false, if walk was stopped by action
+     */
+    public boolean forEachWhile(BiPredicate<String, List<T>> action) {
+        return walk((node, key, depth) -> node.data == null || action.test(alphabet.decode(key, depth), node.data));
+    }
+
+    /**
+     * Visit all nodes of tree in depth-first order of letter codes. Tree is walked with explicit stack, so deep
+     * trees don't overflow thread stack
+     *
+     * @return false, if walk was stopped by visitor
+     */
+    @SuppressWarnings("unchecked")
+    public boolean walk(NodeVisitor<T> visitor) {
+        PrefixTree<T>[] nodes = new PrefixTree[32];
+        int[] nextBranch = new int[32];
+        byte[] key = new byte[32];
+
+        int depth = 0;
+        nodes[0] = this;
+        while(depth >= 0) {
+            PrefixTree<T> node = nodes[depth];
+            if(nextBranch[depth] == 0 && !visitor.enter(node, key, depth)) {
+                return false;
+            }
+
+            int next = nextBranch[depth];
+            while(node.branches != null && next < node.branches.length && node.branches[next] == null) {
+                next++;
+            }
+            if(node.branches != null && next < node.branches.length) {
+                nextBranch[depth] = next + 1;
+                if(depth + 1 == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                    nextBranch = Arrays.copyOf(nextBranch, nodes.length);
+                    key = Arrays.copyOf(key, nodes.length);
+                }
+                key[depth] = (byte) next;
+                depth++;
+                nodes[depth] = node.branches[next];
+                nextBranch[depth] = 0;
+            }
+            else {
+                visitor.leave(node, key, depth);
+                nodes[depth] = null;
+                depth--;
             }
-            return this.branches[index].get(rest);
         }
+        return true;
     }
 }
@@ -7,52 +7,75 @@
  */
 package ru.koluch.morphDict.prefixTree;
 
+import java.util.ArrayDeque;
+
 /**
- * Auxiliary class to countNodes things inside tree
+ * Auxiliary class to countNodes things inside tree.
+ * <p>
+ * Tree is walked with explicit stack instead of recursion, so deep trees don't exhaust thread stack
  */
 public class Statistics {
 
     public static  <T> Integer countNodes(PrefixTree<T> tree) {
-        int result = 1;
-        if(tree.branches!=null) {
-            for (int i = 0; i < tree.branches.length; i++) {
-                PrefixTree branch = tree.branches[i];
-                if(branch!=null) {
-                    result += countNodes(branch);
-                }
-            }
+        int result = 0;
+        ArrayDeque<PrefixTree> stack = new ArrayDeque<>();
+        stack.push(tree);
+        while(!stack.isEmpty()) {
+            PrefixTree node = stack.pop();
+            result++;
+            pushBranches(stack, node);
         }
         return result;
     }
 
     public static  <T> Integer countLeafs(PrefixTree<T> tree) {
-        if(tree.branches!=null) {
-            int result = 0;
-            for (int i = 0; i < tree.branches.length; i++) {
-                PrefixTree branch = tree.branches[i];
-                if(branch!=null) {
-                    result += countLeafs(branch);
-                }
+        int result = 0;
+        ArrayDeque<PrefixTree> stack = new ArrayDeque<>();
+        stack.push(tree);
+        while(!stack.isEmpty()) {
+            PrefixTree node = stack.pop();
+            if(node.branches==null) {
+                result++;
+            }
+            else {
+                pushBranches(stack, node);
             }
-            return result;
-        }
-        else {
-            return 1;
         }
+        return result;
     }
 
     public static  <T> Integer countMaxDeep(PrefixTree<T> tree) {
         int result = 0;
-        if(tree.branches!=null) {
-            for (int i = 0; i < tree.branches.length; i++) {
-                PrefixTree branch = tree.branches[i];
-                if(branch!=null) {
-                    int branchDeep = 1 + countMaxDeep(branch);
-                    result = Math.max(result, branchDeep);
+        ArrayDeque<PrefixTree> stack = new ArrayDeque<>();
+        ArrayDeque<Integer> deeps = new ArrayDeque<>();
+        stack.push(tree);
+        deeps.push(0);
+        while(!stack.isEmpty()) {
+            PrefixTree node = stack.pop();
+            int deep = deeps.pop();
+            result = Math.max(result, deep);
+            if(node.branches!=null) {
+                for (int i = 0; i < node.branches.length; i++) {
+                    PrefixTree branch = node.branches[i];
+                    if(branch!=null) {
+                        stack.push(branch);
+                        deeps.push(deep + 1);
+                    }
                 }
             }
         }
         return result;
     }
 
+    private static void pushBranches(ArrayDeque<PrefixTree> stack, PrefixTree node) {
+        if(node.branches!=null) {
+            for (int i = 0; i < node.branches.length; i++) {
+                PrefixTree branch = node.branches[i];
+                if(branch!=null) {
+                    stack.push(branch);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:05
+ */
+package ru.koluch.morphDict.prefixTree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Compiled pattern of words, like {@code ма?ин*}. Pattern is made of:
+ * <ul>
+ * <li>letter - matches itself</li>
+ * <li>{@code ?} - matches any letter</li>
+ * <li>{@code *} - matches any sequence of letters, including empty one</li>
+ * <li>{@code [абв]}, {@code [а-е]}, {@code [^аб]} - matches any letter of class, or any letter outside of it</li>
+ * </ul>
+ * Pattern is matched against prefix tree as a set of positions of pattern, reachable by prefix of key. Subtree is
+ * skipped as soon as no position is reachable, so only branches, which could lead to matches, are visited, and
+ * every key is visited at most once.
+ * <p>
+ * Immutable, could be used concurrently
+ */
+public class WordPattern {
+
+    /**
+     * Maximal number of elements in pattern, so positions fit into long
+     */
+    public static final int MAX_LENGTH = 63;
+
+    private final String[] elements;  // Source text of elements
+    private final Alphabet alphabet;
+    private final int length;
+    private final boolean[] star;
+    private final long[][] classes;  // Letter codes of classes, as bitsets
+    private final int[] singleCode;  // Code of the only letter of class, or -1
+
+    private WordPattern(String[] elements, Alphabet alphabet, int length, boolean[] star, long[][] classes, int[] singleCode) {
+        this.elements = elements;
+        this.alphabet = alphabet;
+        this.length = length;
+        this.star = star;
+        this.classes = classes;
+        this.singleCode = singleCode;
+    }
+
+    /**
+     * Compile pattern for words of alphabet
+     *
+     * @throws IllegalArgumentException if pattern is malformed, too long, or contains letters outside of alphabet
+     */
+    public static WordPattern compile(String pattern, Alphabet alphabet) {
+        boolean[] star = new boolean[MAX_LENGTH];
+        long[][] classes = new long[MAX_LENGTH][];
+        int[] singleCode = new int[MAX_LENGTH];
+        String[] elements = new String[MAX_LENGTH];
+        int length = 0;
+
+        int i = 0;
+        while(i < pattern.length()) {
+            if(length == MAX_LENGTH) {
+                throw new IllegalArgumentException("Pattern is too long, maximum is " + MAX_LENGTH + " elements: " + pattern);
+            }
+            char c = pattern.charAt(i);
+            int start = i;
+            long[] letters = new long[2];
+            if(c == '*') {
+                i++;
+                if(length > 0 && star[length - 1]) {
+                    continue;   // "**" is the same as "*"
+                }
+                star[length] = true;
+            }
+            else if(c == '?') {
+                i++;
+                for (int code = 0; code < alphabet.size(); code++) {
+                    letters[code >>> 6] |= 1L << code;
+                }
+            }
+            else if(c == '[') {
+                int end = pattern.indexOf(']', i + 1);
+                if(end == -1) {
+                    throw new IllegalArgumentException("Unclosed character class at " + i + ": " + pattern);
+                }
+                boolean negated = end > i + 1 && pattern.charAt(i + 1) == '^';
+                int from = negated ? i + 2 : i + 1;
+                if(from == end) {
+                    throw new IllegalArgumentException("Empty character class at " + i + ": " + pattern);
+                }
+                for (int j = from; j < end; j++) {
+                    if(j + 2 < end && pattern.charAt(j + 1) == '-') {
+                        char first = pattern.charAt(j);
+                        char last = pattern.charAt(j + 2);
+                        for (int code = 0; code < alphabet.size(); code++) {
+                            char letter = alphabet.letter(code);
+                            if(letter >= first && letter <= last) {
+                                letters[code >>> 6] |= 1L << code;
+                            }
+                        }
+                        j += 2;
+                    }
+                    else {
+                        int code = code(alphabet, pattern, j);
+                        letters[code >>> 6] |= 1L << code;
+                    }
+                }
+                if(negated) {
+                    for (int code = 0; code < alphabet.size(); code++) {
+                        letters[code >>> 6] ^= 1L << code;
+                    }
+                }
+                i = end + 1;
+            }
+            else {
+                int code = code(alphabet, pattern, i);
+                letters[code >>> 6] |= 1L << code;
+                i++;
+            }
+
+            elements[length] = pattern.substring(start, i);
+            if(!star[length]) {
+                classes[length] = letters;
+                int count = Long.bitCount(letters[0]) + Long.bitCount(letters[1]);
+                singleCode[length] = count == 1 ? (letters[0] != 0 ? Long.numberOfTrailingZeros(letters[0]) : 64 + Long.numberOfTrailingZeros(letters[1])) : -1;
+            }
+            length++;
+        }
+        return new WordPattern(Arrays.copyOf(elements, length), alphabet, length, Arrays.copyOf(star, length), Arrays.copyOf(classes, length), Arrays.copyOf(singleCode, length));
+    }
+
+    /**
+     * @return pattern, which matches reversed words. Use it with tree of reversed keys, when pattern starts with
+     * star, but ends with letters
+     */
+    public WordPattern reverse() {
+        String[] reversedElements = new String[length];
+        boolean[] reversedStar = new boolean[length];
+        long[][] reversedClasses = new long[length][];
+        int[] reversedSingleCode = new int[length];
+        for (int i = 0; i < length; i++) {
+            int j = length - 1 - i;
+            reversedElements[i] = elements[j];
+            reversedStar[i] = star[j];
+            reversedClasses[i] = classes[j];
+            reversedSingleCode[i] = singleCode[j];
+        }
+        return new WordPattern(reversedElements, alphabet, length, reversedStar, reversedClasses, reversedSingleCode);
+    }
+
+    /**
+     * @return true, if pattern starts with star
+     */
+    public boolean startsWithStar() {
+        return length > 0 && star[0];
+    }
+
+    private static int code(Alphabet alphabet, String pattern, int position) {
+        int code = alphabet.code(pattern.charAt(position));
+        if(code == -1) {
+            throw new IllegalArgumentException("Bad letter '" + pattern.charAt(position) + "' at " + position + " (allowed only letters of alphabet): " + pattern);
+        }
+        return code;
+    }
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Check word against pattern, without any index
+     */
+    public boolean matches(CharSequence word) {
+        long states = closure(1L);
+        for (int i = 0; i < word.length() && states != 0; i++) {
+            int code = alphabet.code(word.charAt(i));
+            if(code == -1) {
+                return false;
+            }
+            states = step(states, code);
+        }
+        return (states & (1L << length)) != 0;
+    }
+
+    /**
+     * Visit keys of tree, matching pattern, in order of letter codes
+     *
+     * @param cancelled checked on every visited node, walk is stopped as soon as it returns true
+     * @param action consumer of key and its data list, walk is stopped as soon as it returns false
+     * @return false, if walk was stopped by action or cancelled
+     */
+    @SuppressWarnings("unchecked")
+    public <T> boolean forEachMatch(PrefixTree<T> tree, BooleanSupplier cancelled, BiPredicate<String, List<T>> action) {
+        if(tree.getAlphabet() != alphabet) {
+            throw new IllegalArgumentException("Pattern is compiled for another alphabet");
+        }
+        PrefixTree<T>[] nodes = new PrefixTree[32];
+        long[] states = new long[32];
+        int[] nextBranch = new int[32];
+        StringBuilder key = new StringBuilder();
+        long matched = 1L << length;
+
+        int depth = 0;
+        nodes[0] = tree;
+        states[0] = closure(1L);
+        while(depth >= 0) {
+            PrefixTree<T> node = nodes[depth];
+            long nodeStates = states[depth];
+            if(nextBranch[depth] == 0) {
+                if(cancelled.getAsBoolean()) {
+                    return false;
+                }
+                if((nodeStates & matched) != 0 && node.data != null && !action.test(key.toString(), node.data)) {
+                    return false;
+                }
+            }
+
+            // Find next branch, which has reachable positions of pattern
+            int next = nextBranch[depth];
+            long nextStates = 0;
+            if(node.branches != null && (nodeStates & ~matched) != 0) {
+                int only = onlyCode(nodeStates & ~matched);
+                if(only != -1) {
+                    if(next <= only && node.branches[only] != null) {
+                        next = only;
+                        nextStates = step(nodeStates, only);
+                    }
+                }
+                else {
+                    for (; next < node.branches.length; next++) {
+                        if(node.branches[next] != null) {
+                            nextStates = step(nodeStates, next);
+                            if(nextStates != 0) {
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+
+            if(nextStates != 0) {
+                nextBranch[depth] = next + 1;
+                if(depth + 1 == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                    states = Arrays.copyOf(states, nodes.length);
+                    nextBranch = Arrays.copyOf(nextBranch, nodes.length);
+                }
+                key.append(alphabet.letter(next));
+                depth++;
+                nodes[depth] = node.branches[next];
+                states[depth] = nextStates;
+                nextBranch[depth] = 0;
+            }
+            else {
+                nodes[depth] = null;
+                depth--;
+                if(depth >= 0) {
+                    key.setLength(depth);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return code of the only letter, which could follow positions, or -1 if there are several of them
+     */
+    private int onlyCode(long positions) {
+        if(Long.bitCount(positions) != 1) {
+            return -1;
+        }
+        int position = Long.numberOfTrailingZeros(positions);
+        return star[position] ? -1 : singleCode[position];
+    }
+
+    /**
+     * @return positions reachable from given ones by letter
+     */
+    private long step(long positions, int code) {
+        long result = 0;
+        for (long rest = positions; rest != 0; rest &= rest - 1) {
+            int position = Long.numberOfTrailingZeros(rest);
+            if(position == length) {
+                continue;
+            }
+            if(star[position]) {
+                result |= 1L << position;
+            }
+            else if((classes[position][code >>> 6] & (1L << code)) != 0) {
+                result |= 1L << (position + 1);
+            }
+        }
+        return closure(result);
+    }
+
+    /**
+     * @return positions with positions after stars added, because star could match empty sequence
+     */
+    private long closure(long positions) {
+        for (int position = 0; position < length; position++) {
+            if(star[position] && (positions & (1L << position)) != 0) {
+                positions |= 1L << (position + 1);
+            }
+        }
+        return positions;
+    }
+
+    @Override
+    public String toString() {
+        return String.join("", elements);
+    }
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:17
+ */
+package ru.koluch.morphDict.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.koluch.morphDict.dictionary.Attribute;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.LookupService;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP server, which makes lookup service available to other processes. Requests are accepted by NIO event loop
+ * of JDK HTTP server and handled by a fixed pool of worker threads.
+ * <p>
+ * Endpoints:
+ * <ul>
+ * <li>{@code GET /lookup?word=...} - lookup one or several words (parameter could be repeated)</li>
+ * <li>{@code POST /lookup} - lookup batch of words, one word per line of UTF-8 request body</li>
+ * <li>{@code GET /stats} - counters of server</li>
+ * </ul>
+ * Response is JSON object, mapping every distinct word to array of its analyses. Repeated words of a batch are
+ * looked up once. Request with more than {@link #MAX_BATCH} words is rejected with status 413, request with
+ * letters outside of alphabet - with status 400
+ */
+public class LookupServer implements Closeable {
+
+    /**
+     * Maximal number of words in one request
+     */
+    public static final int MAX_BATCH = 10000;
+
+    /**
+     * Maximal length of a word
+     */
+    public static final int MAX_WORD_LENGTH = 100;
+
+    private final LookupService lookupService;
+    private final Alphabet alphabet;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder words = new LongAdder();
+
+    /**
+     * Make server, which is not started yet
+     *
+     * @param alphabet alphabet of dictionary, words with other letters are rejected
+     * @param address address to listen, port 0 means any free port
+     * @param threads number of worker threads
+     */
+    public LookupServer(LookupService lookupService, Alphabet alphabet, InetSocketAddress address, int threads) throws IOException {
+        this.lookupService = lookupService;
+        this.alphabet = alphabet;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/lookup", this::handleLookup);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return address server is listening to
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleLookup(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            Set<String> batch = new LinkedHashSet<>();
+            if("GET".equals(exchange.getRequestMethod())) {
+                String query = exchange.getRequestURI().getRawQuery();
+                if(query != null) {
+                    String[] parameters = query.split("&");
+                    if(parameters.length > MAX_BATCH) {
+                        throw tooManyWords();
+                    }
+                    for (String parameter : parameters) {
+                        if(parameter.startsWith("word=")) {
+                            addWord(batch, decode(parameter.substring("word=".length())));
+                        }
+                    }
+                }
+            }
+            else if("POST".equals(exchange.getRequestMethod())) {
+                readBatch(exchange.getRequestBody(), batch);
+            }
+            else {
+                respond(exchange, 405, "{\"error\":\"Method not allowed\"}");
+                return;
+            }
+
+            words.add(batch.size());
+            StringBuilder result = new StringBuilder();
+            result.append('{');
+            for (String word : batch) {
+                if(result.length() > 1) {
+                    result.append(',');
+                }
+                appendString(result, word);
+                result.append(':');
+                appendResults(result, lookupService.lookup(word));
+            }
+            result.append('}');
+            respond(exchange, 200, result.toString());
+        } catch (BadRequestException ex) {
+            respond(exchange, ex.status, error(ex.getMessage()));
+        } catch (RuntimeException ex) {
+            respond(exchange, 500, error(String.valueOf(ex.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            respond(exchange, 200, "{\"requests\":" + requests.sum() + ",\"words\":" + words.sum() + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Read words of POST request, one per line. Reading stops as soon as request exceeds limits, so size of
+     * accepted body is bounded
+     */
+    private void readBatch(InputStream body, Set<String> batch) throws IOException, BadRequestException {
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        int lines = 0;
+        int c;
+        do {
+            c = reader.read();
+            if(c == '\n' && ++lines > MAX_BATCH) {
+                throw tooManyWords();
+            }
+            if(c == -1 || c == '\n') {
+                String word = line.toString().trim();
+                if(!word.isEmpty()) {
+                    addWord(batch, word);
+                }
+                line.setLength(0);
+            }
+            else if(line.length() > MAX_WORD_LENGTH) {  // Could be followed only by \r
+                throw new BadRequestException(413, "Word is too long, maximum is " + MAX_WORD_LENGTH + " letters");
+            }
+            else {
+                line.append((char) c);
+            }
+        } while(c != -1);
+    }
+
+    private void addWord(Set<String> batch, String word) throws BadRequestException {
+        if(word.length() > MAX_WORD_LENGTH) {
+            throw new BadRequestException(413, "Word is too long, maximum is " + MAX_WORD_LENGTH + " letters");
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if(alphabet.code(word.charAt(i)) < 0) {
+                throw new BadRequestException(400, "Bad letter '" + word.charAt(i) + "' in word: " + word);
+            }
+        }
+        batch.add(word);
+    }
+
+    private static BadRequestException tooManyWords() {
+        return new BadRequestException(413, "Too many words, maximum is " + MAX_BATCH);
+    }
+
+    /**
+     * Append JSON array of analyses
+     */
+    private static void appendResults(StringBuilder result, List<LookupResult> results) {
+        result.append('[');
+        boolean firstResult = true;
+        for (LookupResult lookupResult : results) {
+            if(!firstResult) {
+                result.append(',');
+            }
+            firstResult = false;
+            result.append("{\"lemma\":");
+            appendString(result, lookupResult.lexeme.homonyms.get(0).makeWord());
+            result.append(",\"ancode\":");
+            appendString(result, lookupResult.wordForm.ancode);
+            result.append(",\"attributes\":[");
+            Set<Attribute> attributes = DictionaryHelper.isKnownAncode(lookupResult.wordForm.ancode)
+                    ? DictionaryHelper.getAttributes(lookupResult.wordForm.ancode)
+                    : Collections.<Attribute>emptySet();
+            boolean first = true;
+            for (Attribute attribute : attributes) {
+                if(!first) {
+                    result.append(',');
+                }
+                first = false;
+                result.append('"').append(attribute.name()).append('"');
+            }
+            result.append("]}");
+        }
+        result.append(']');
+    }
+
+    private static String error(String message) {
+        StringBuilder error = new StringBuilder("{\"error\":");
+        appendString(error, message);
+        return error.append('}').toString();
+    }
+
+    static void appendString(StringBuilder result, String string) {
+        result.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if(c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            }
+            else if(c < 0x20) {
+                result.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                result.append(c);
+            }
+        }
+        result.append('"');
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try(OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Request, rejected before lookup
+     */
+    private static class BadRequestException extends Exception {
+        final int status;
+
+        BadRequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.IndexStatistics;
+import ru.koluch.morphDict.dictionary.LoadListener;
+import ru.koluch.morphDict.dictionary.LoadPhase;
+import ru.koluch.morphDict.dictionary.LoadReport;
+import ru.koluch.morphDict.benchmark.ParseBenchmark;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.prefixTree.Statistics;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestDictionary {
+
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+    private final PrefixTree<DictionaryHelper.TreeData> tree = DictionaryFixture.tree();
+
+    @Test
+    public void testLoadReport() throws IOException, DictionaryHelper.ParseException {
+        LoadReport report = new LoadReport();
+        Dictionary reported = DictionaryHelper.parse(DictionaryFixture.openReader(), report);
+        DictionaryHelper.buildPrefixTree(reported, report);
+
+        assertThat(report.getPhases().keySet(), is(EnumSet.allOf(LoadPhase.class)));
+        assertThat(report.getPhases().get(LoadPhase.LEXEMES).records, is((long) reported.lexemeRecs.size()));
+        assertThat(report.getPhases().get(LoadPhase.TREE).records, is((long) reported.lexemeRecs.size()));
+        assertTrue(report.getInputRead() > 0);
+    }
+
+    @Test
+    public void testParseFile() throws IOException, DictionaryHelper.ParseException {
+        File plain = File.createTempFile("morphs", ".mrd");
+        File compressed = File.createTempFile("morphs", ".mrd.gz");
+        plain.deleteOnExit();
+        compressed.deleteOnExit();
+        try(InputStream in = DictionaryFixture.openStream();
+            OutputStream out = new FileOutputStream(plain);
+            OutputStream gzip = new GZIPOutputStream(new FileOutputStream(compressed))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                gzip.write(buffer, 0, read);
+            }
+        }
+
+        for (File file : new File[]{plain, compressed}) {
+            LoadReport report = new LoadReport();
+            Dictionary parsed = DictionaryHelper.parse(file.toPath(), report);
+            assertThat(parsed.paradigmList.size(), is(dictionary.paradigmList.size()));
+            assertThat(parsed.lexemeRecs.size(), is(dictionary.lexemeRecs.size()));
+            assertThat(parsed.lexemeRecs.get(parsed.lexemeRecs.size() - 1).basis, is(dictionary.lexemeRecs.get(dictionary.lexemeRecs.size() - 1).basis));
+            assertThat(report.getInputRead(), is(file.length()));
+        }
+    }
+
+    @Test
+    public void testParseChannel() throws DictionaryHelper.ParseException {
+        String content = new String(DictionaryFixture.bytes(), StandardCharsets.UTF_8).replace("\n", "\r\n");
+        Dictionary parsed = DictionaryHelper.parse(trickle(content.getBytes(StandardCharsets.UTF_8)), LoadListener.NONE);
+        assertThat(parsed.paradigmList.size(), is(dictionary.paradigmList.size()));
+        assertThat(parsed.lexemeRecs.size(), is(dictionary.lexemeRecs.size()));
+        for (int i = 0; i < dictionary.lexemeRecs.size(); i++) {
+            assertThat(parsed.lexemeRecs.get(i).basis, is(dictionary.lexemeRecs.get(i).basis));
+        }
+
+        byte[] malformed = DictionaryFixture.bytes().clone();
+        malformed[malformed.length - 10] = (byte) 0xFF;
+        try {
+            DictionaryHelper.parse(trickle(malformed), LoadListener.NONE);
+            fail("Malformed UTF-8 is accepted");
+        } catch (DictionaryHelper.ParseException ex) {
+            // Expected
+        }
+    }
+
+    /**
+     * @return channel, which returns a few bytes per read, so characters and lines are split between reads
+     */
+    private static ReadableByteChannel trickle(byte[] content) {
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(content));
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                ByteBuffer part = dst.duplicate();
+                ((Buffer) part).limit(Math.min(dst.limit(), dst.position() + 7));
+                int read = channel.read(part);
+                if(read > 0) {
+                    ((Buffer) dst).position(dst.position() + read);
+                }
+                return read;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    @Test
+    public void testParseMatchesRegexParser() throws IOException {
+        Dictionary expected = ParseBenchmark.RegexMrdParser.parse(DictionaryFixture.openReader());
+
+        assertThat(dictionary.paradigmList.size(), is(expected.paradigmList.size()));
+        for (int i = 0; i < expected.paradigmList.size(); i++) {
+            List<ParadigmRule> rules = dictionary.paradigmList.get(i);
+            List<ParadigmRule> expectedRules = expected.paradigmList.get(i);
+            assertThat(rules.size(), is(expectedRules.size()));
+            for (int j = 0; j < expectedRules.size(); j++) {
+                assertThat(rules.get(j).ending, is(expectedRules.get(j).ending));
+                assertThat(rules.get(j).ancode, is(expectedRules.get(j).ancode));
+                assertThat(rules.get(j).prefix, is(expectedRules.get(j).prefix));
+            }
+        }
+
+        assertThat(dictionary.prefixeParadigmList, is(expected.prefixeParadigmList));
+        assertThat(dictionary.lexemeRecs.size(), is(expected.lexemeRecs.size()));
+        for (int i = 0; i < expected.lexemeRecs.size(); i++) {
+            LexemeRec rec = dictionary.lexemeRecs.get(i);
+            LexemeRec expectedRec = expected.lexemeRecs.get(i);
+            assertThat(rec.basis, is(expectedRec.basis));
+            assertThat(rec.paradigmIndex, is(expectedRec.paradigmIndex));
+            assertThat(rec.ancode, is(expectedRec.ancode));
+            assertThat(rec.accentParadigmIndex, is(expectedRec.accentParadigmIndex));
+            assertThat(rec.userSessionIndex, is(expectedRec.userSessionIndex));
+            assertThat(rec.prefixParadigmIndex, is(expectedRec.prefixParadigmIndex));
+        }
+    }
+
+    @Test
+    public void testIndexStatistics() {
+        IndexStatistics statistics = IndexStatistics.compute(dictionary, tree);
+
+        assertThat(statistics.nodeCount, is((long) Statistics.countNodes(tree)));
+        assertThat(statistics.leafCount, is((long) Statistics.countLeafs(tree)));
+        assertThat(statistics.maxDepth, is(Statistics.countMaxDeep(tree)));
+        assertThat(statistics.homonymHistogram.length > 0, is(true));
+        assertTrue(statistics.toJson().startsWith("{\"nodeCount\":" + statistics.nodeCount));
+    }
+}
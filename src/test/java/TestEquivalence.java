@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.prefixTree.BloomFilter;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.FrequencyPriors;
+import ru.koluch.morphDict.lookup.LookupService;
+import ru.koluch.morphDict.lookup.OverlayLookupService;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.lookup.RankingLookupService;
+import ru.koluch.morphDict.lookup.WordFormStore;
+import ru.koluch.morphDict.verify.LookupEquivalence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TestEquivalence {
+
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+    private final PrefixTree<DictionaryHelper.TreeData> tree = DictionaryFixture.tree();
+    private final PrefixTreeLookupService lookup = DictionaryFixture.lookup();
+
+    @Test
+    public void testEquivalence() {
+        int half = dictionary.lexemeRecs.size() / 2;
+        OverlayLookupService overlay = new OverlayLookupService(new Dictionary(dictionary.paradigmList, dictionary.lexemeRecs.subList(0, half),
+                dictionary.prefixeParadigmList, dictionary.accentModels, dictionary.userSessions));
+        overlay.addLexemes(dictionary.lexemeRecs.subList(half, dictionary.lexemeRecs.size()));
+
+        int paradigmCount = dictionary.paradigmList.size();
+        LookupEquivalence equivalence = new LookupEquivalence(lookup)
+                .add("bloom", new PrefixTreeLookupService(lookup.getLexemeTable(), tree, null, BloomFilter.build(tree, 0.01)))
+                .add("store", new PrefixTreeLookupService(dictionary, tree, new WordFormStore(dictionary)))
+                .add("overlay", overlay)
+                .add("ranking", new RankingLookupService(lookup, new FrequencyPriors(new long[0], new long[paradigmCount])));
+
+        List<String> words = LookupEquivalence.words(tree, 1000, 1);
+        assertTrue(words.contains("собакой"));
+        assertTrue(equivalence.check(words, 10).toString(), equivalence.check(words, 10).isEmpty());
+
+        LookupService broken = word -> word.equals("собакой") ? new ArrayList<>() : lookup.lookup(word);
+        List<LookupEquivalence.Divergence> divergences = new LookupEquivalence(lookup).add("broken", broken).check(words, 10);
+        assertThat(divergences.size(), is(1));
+        assertThat(divergences.get(0).word, is("собакой"));
+        assertTrue(divergences.get(0).actual.isEmpty());
+    }
+}
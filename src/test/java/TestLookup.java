@@ -26,25 +26,40 @@
  * Created: 02.12.2015 14:34
  */
 
-import org.junit.Before;
 import org.junit.Test;
 import ru.koluch.morphDict.dictionary.Attribute;
 import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
 import ru.koluch.morphDict.lookup.data.Lexeme;
+import ru.koluch.morphDict.lookup.data.LookupHit;
 import ru.koluch.morphDict.lookup.data.WordForm;
+import ru.koluch.morphDict.prefixTree.Alphabet;
 import ru.koluch.morphDict.prefixTree.PrefixTree;
 import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.AncodeTable;
+import ru.koluch.morphDict.lookup.AttributeFilter;
+import ru.koluch.morphDict.lookup.LexemeTable;
+import ru.koluch.morphDict.lookup.LookupContext;
+import ru.koluch.morphDict.lookup.OverlayLookupService;
 import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.lookup.WordFormStore;
 import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.pool.OffHeapStringPool;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static ru.koluch.morphDict.dictionary.Attribute.*;
 
 
@@ -52,15 +67,10 @@ import static ru.koluch.morphDict.dictionary.Attribute.*;
 
 public class TestLookup {
 
-    private PrefixTreeLookupService lookup;
-
-    @Before
-    public void init() throws IOException, DictionaryHelper.ParseException {
-        Dictionary dictionary = DictionaryHelper.parse(new InputStreamReader(Dictionary.class.getResourceAsStream("/morphs.mrd"), "UTF-8"));
-        PrefixTree<DictionaryHelper.TreeData> tree = DictionaryHelper.buildPrefixTree(dictionary);
-        lookup = new PrefixTreeLookupService(dictionary, tree);
-    }
-
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+    private final PrefixTree<DictionaryHelper.TreeData> tree = DictionaryFixture.tree();
+    private final PrefixTreeLookupService lookup = DictionaryFixture.lookup();
 
     @Test
     public void testNoun() throws IOException {
@@ -105,4 +115,187 @@ public class TestLookup {
 
     }
 
+    @Test
+    public void testContext() throws IOException {
+        LookupContext context = new LookupContext();
+        for (int i = 0; i < 2; i++) { // Second time results are taken from context cache
+            List<LookupResult> resultList = lookup.lookup("собакой", context);
+            assertThat(resultList.size(), is(1));
+            assertThat(resultList.get(0).wordForm.makeWord(), is("собакой"));
+            assertThat(resultList.get(0).lexeme.homonyms.get(0).makeWord(), is("собака"));
+        }
+        assertThat(lookup.lookup("побегут", context).size(), is(1));
+
+        // Cached lookups build their own lexemes
+        Lexeme first = lookup.lookup("собакой", context).get(0).lexeme;
+        assertThat(lookup.lookup("собакой", context).get(0).lexeme, not(sameInstance(first)));
+    }
+
+    @Test
+    public void testContextWithAnotherService() {
+        LookupContext context = new LookupContext();
+        OverlayLookupService overlay = new OverlayLookupService(dictionary, new PrefixTreeLookupService(dictionary, tree));
+        int paradigmId = lookup.lookupHits("собака").get(0).lexeme.paradigmId;
+        assertTrue(lookup.lookup("кошкой", context).isEmpty());
+
+        overlay.addLexeme(new LexemeRec("кошк", paradigmId, Optional.empty(), 0, 0, Optional.empty()));
+        assertThat(overlay.lookup("кошкой", context).size(), is(1));
+        overlay.compact();
+        assertThat(overlay.lookup("кошкой", context).size(), is(1));  // Found in new base, not in cache of old one
+        assertTrue(lookup.lookup("кошкой", context).isEmpty());
+    }
+
+    @Test
+    public void testWordFormStore() throws IOException {
+        WordFormStore store = new WordFormStore(dictionary, 1);
+        PrefixTreeLookupService storeLookup = new PrefixTreeLookupService(dictionary, tree, store);
+
+        LookupResult first = storeLookup.lookup("собакой").get(0);
+        LookupResult second = storeLookup.lookup("собаке").get(0);
+        assertThat(second.lexeme, sameInstance(first.lexeme));
+        assertThat(second.lexeme.homonyms.get(0).makeWord(), is("собака"));
+        assertThat(store.size(), is(1));
+        try {
+            first.lexeme.homonyms.clear();
+            fail("Shared lexeme was modified");
+        } catch (UnsupportedOperationException ex) {
+            // Expected
+        }
+
+        // Store is full, so other lexemes are built on every lookup
+        assertThat(storeLookup.lookup("побегут").get(0).lexeme, not(sameInstance(storeLookup.lookup("побегут").get(0).lexeme)));
+        assertTrue(store.isFull());
+    }
+
+    @Test
+    public void testWordFormStoreConcurrentPut() throws Exception {
+        WordFormStore store = new WordFormStore(dictionary);
+        PrefixTreeLookupService storeLookup = new PrefixTreeLookupService(dictionary, tree, store);
+        String[] words = {"собакой", "собаке", "побегут"};
+        int threads = 8;
+        List<List<Lexeme>> found = Collections.synchronizedList(new ArrayList<>());
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                List<Lexeme> lexemes = new ArrayList<>();
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                for (String word : words) {
+                    lexemes.add(storeLookup.lookup(word).get(0).lexeme);
+                }
+                found.add(lexemes);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(found.size(), is(threads));
+        assertThat(store.size(), is(2));    // Two forms of the same lexeme are counted once
+        for (List<Lexeme> lexemes : found) {
+            for (int i = 0; i < words.length; i++) {
+                assertThat(lexemes.get(i), sameInstance(found.get(0).get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testLookupHits() throws IOException {
+        ArrayList<LookupHit> hits = lookup.lookupHits("машинами");
+        assertThat(hits.size(), is(1));
+
+        LookupHit hit = hits.get(0);
+        assertThat(hit.wordForm().makeWord(), is("машинами"));
+        assertThat(hit.lexeme.lemma(), is("машина"));
+        assertThat(DictionaryHelper.getAttributes(hit.ancode()), hasItem(INSTRUMENTAL_CASE));
+
+        Lexeme lexeme = lookup.lookup("машинами").get(0).lexeme;
+        assertThat(hit.lexeme.size(), is(lexeme.homonyms.size()));
+        for (int i = 0; i < hit.lexeme.size(); i++) {
+            assertThat(hit.lexeme.word(i), is(lexeme.homonyms.get(i).makeWord()));
+        }
+    }
+
+    @Test
+    public void testOffHeapTable() throws IOException {
+        LexemeTable table = new LexemeTable(dictionary, new OffHeapStringPool());
+        PrefixTreeLookupService offHeapLookup = new PrefixTreeLookupService(table, tree, null);
+
+        ArrayList<LookupResult> resultList = offHeapLookup.lookup("собакой");
+        assertThat(resultList.size(), is(1));
+        assertThat(resultList.get(0).wordForm.makeWord(), is("собакой"));
+        assertThat(resultList.get(0).lexeme.homonyms.get(0).makeWord(), is("собака"));
+    }
+
+    @Test
+    public void testStress() {
+        List<LookupResult> resultList = lookup.lookup("собакой");
+        assertThat(resultList.get(0).lexeme.homonyms.get(0).makeStressedWord(), is("соба\u0301ка"));
+
+        List<LookupHit> hits = lookup.lookupHits("побежать");
+        WordForm wordForm = hits.get(0).wordForm();
+        assertThat(wordForm.stressIndex(), is(5));
+        assertThat(wordForm.makeStressedWord(), is("побежа\u0301ть"));
+
+        WordForm unknown = new WordForm(Optional.empty(), "собак", Optional.of("а"), "га");
+        assertThat(unknown.stressIndex(), is(-1));
+        assertThat(unknown.makeStressedWord(), is("собака"));
+    }
+
+    @Test
+    public void testFilter() {
+        DictionaryHelper.FilteredPrefixTree index = DictionaryHelper.buildPrefixTree(dictionary, Alphabet.RUSSIAN, 0.01);
+        PrefixTreeLookupService filtered = new PrefixTreeLookupService(new LexemeTable(dictionary), index.tree, null, index.filter);
+
+        assertThat(filtered.lookup("собакой").size(), is(1));
+        assertThat(filtered.lookupHits("побегут").size(), is(1));
+        assertTrue(filtered.lookup("http://example.com").isEmpty()); // Not an exception, as without filter
+        assertTrue(filtered.lookup("2015").isEmpty());
+    }
+
+    @Test
+    public void testLemmatize() {
+        assertThat(lookup.lemmatize("собакой"), is(Collections.singletonList("собака")));
+        assertThat(lookup.lemmatize("побегут"), is(Collections.singletonList("побежать")));
+        assertTrue(lookup.lemmatize("кошкой").isEmpty());
+
+        int[] lemmaIds = lookup.lemmaIds("собакой");
+        assertThat(lemmaIds.length, is(1));
+        assertThat(lookup.lemma(lemmaIds[0]), is(lookup.lookup("собакой").get(0).lexeme.homonyms.get(0).makeWord()));
+        assertTrue(lookup.lemma(lemmaIds[0]) == lookup.lemma(lemmaIds[0])); // Lemma is cached
+    }
+
+    @Test
+    public void testAttributeFilter() {
+        assertThat(lookup.lookup("собакой", AttributeFilter.all(NOUN, INSTRUMENTAL_CASE)).size(), is(1));
+        assertTrue(lookup.lookup("собакой", AttributeFilter.all(NOUN, GENITIVE_CASE)).isEmpty());
+        assertTrue(lookup.lookup("собакой", AttributeFilter.any(VERB, INFINITIVE)).isEmpty());
+        assertThat(lookup.lookupHits("побегут", AttributeFilter.any(NOUN, VERB)).size(), is(1));
+
+        // Default implementation filters results after lookup
+        OverlayLookupService overlay = new OverlayLookupService(dictionary, lookup);
+        assertThat(overlay.lookup("собакой", AttributeFilter.all(NOUN)).size(), is(1));
+        assertTrue(overlay.lookup("собакой", AttributeFilter.all(VERB)).isEmpty());
+
+        AncodeTable ancodeTable = new AncodeTable();
+        AttributeFilter nouns = AttributeFilter.all(NOUN);
+        assertTrue(nouns.matches(ancodeTable, ancodeTable.register("аа")));
+        assertFalse(nouns.matches(ancodeTable, ancodeTable.register("unknown"))); // Compiled again for new ancode
+
+        // Unknown ancodes have no attributes, but failures of predicate are not hidden
+        assertFalse(DictionaryHelper.isKnownAncode("unknown"));
+        assertTrue(new AttributeFilter(Set::isEmpty).matches("unknown"));
+        try {
+            new AttributeFilter(attributes -> { throw new IllegalStateException(); }).matches("аа");
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
 }
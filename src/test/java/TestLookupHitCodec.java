@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.lookup.data.LookupHit;
+import ru.koluch.morphDict.lookup.LookupHitReader;
+import ru.koluch.morphDict.lookup.LookupHitWriter;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestLookupHitCodec {
+
+    // Shared by all tests, so they must not be modified
+    private final PrefixTreeLookupService lookup = DictionaryFixture.lookup();
+
+    @Test
+    public void testHitCodec() throws IOException {
+        List<String> words = Arrays.asList("собакой", "машиной", "кошкой", "собаку");
+        for (boolean expanded : new boolean[]{false, true}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try(LookupHitWriter writer = new LookupHitWriter(bytes, expanded)) {
+                for (String word : words) {
+                    writer.write(lookup.lookupHits(word));
+                }
+            }
+
+            try(LookupHitReader reader = new LookupHitReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+                assertThat(reader.isExpanded(), is(expanded));
+                for (String word : words) {
+                    List<LookupHit> expected = lookup.lookupHits(word);
+                    List<LookupHit> actual = reader.readHits(lookup.getLexemeTable());
+                    assertThat(actual.size(), is(expected.size()));
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertThat(actual.get(i).lexeme.lexemeId, is(expected.get(i).lexeme.lexemeId));
+                        assertThat(actual.get(i).formNum, is(expected.get(i).formNum));
+                        assertThat(actual.get(i).wordForm().makeWord(), is(word));
+                    }
+                }
+                assertThat(reader.readHits(lookup.getLexemeTable()), is(nullValue()));
+            }
+
+            try(LookupHitReader reader = new LookupHitReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+                assertThat(reader.nextResult(), is(1));
+                reader.nextHit();
+                assertThat(reader.lemma(), is(expanded ? "собака" : null));
+                assertThat(reader.ancode(), is(expanded ? lookup.lookupHits("собакой").get(0).ancode() : null));
+                assertThat(reader.nextResult(), is(1));   // Cursor could move without reading hits
+                assertThat(reader.nextResult(), is(0));
+                assertThat(reader.nextResult(), is(1));
+                assertThat(reader.nextResult(), is(-1));
+            }
+        }
+
+        try {
+            new LookupHitReader(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+            fail();
+        } catch (IOException ignored) {
+        }
+
+        // Five-byte varints overflowing to negative lexeme id and form number
+        int paradigmId = lookup.getLexemeTable().paradigmId(0);
+        assertTrue(paradigmId < 0x80);
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        for (byte[] hit : new byte[][]{concat(negative, new byte[]{(byte) paradigmId, 0}), concat(new byte[]{0, (byte) paradigmId}, negative)}) {
+            byte[] stream = concat(new byte[]{'M', 'H', 1, 0, 1}, hit);
+            try(LookupHitReader reader = new LookupHitReader(new ByteArrayInputStream(stream))) {
+                reader.readHits(lookup.getLexemeTable());
+                fail();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testLongStream() throws IOException {
+        // Strings of hits cross boundaries of reader buffer
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(LookupHitWriter writer = new LookupHitWriter(bytes, true)) {
+            for (int i = 0; i < 2000; i++) {
+                writer.write(lookup.lookupHits("собакой"));
+            }
+        }
+        try(LookupHitReader reader = new LookupHitReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int i = 0; i < 2000; i++) {
+                assertThat(reader.nextResult(), is(1));
+                reader.nextHit();
+                assertThat(reader.lemma(), is("собака"));
+            }
+            assertThat(reader.nextResult(), is(-1));
+        }
+    }
+
+    @Test
+    public void testCorruptedString() throws IOException {
+        // Expanded hit of lexeme 0 with negative, huge and truncated lengths of lemma
+        byte[] hit = {1, 0, (byte) lookup.getLexemeTable().paradigmId(0), 0};
+        byte[][] lengths = {
+                {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F},
+                {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07},
+                {10, 'a', 'b'}
+        };
+        for (byte[] length : lengths) {
+            byte[] stream = concat(concat(new byte[]{'M', 'H', 1, 1}, hit), length);
+            try(LookupHitReader reader = new LookupHitReader(new ByteArrayInputStream(stream))) {
+                reader.nextResult();
+                reader.nextHit();
+                fail();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
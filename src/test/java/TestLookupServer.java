@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.server.LookupServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TestLookupServer {
+
+    // Shared by all tests, so they must not be modified
+    private final PrefixTreeLookupService lookup = DictionaryFixture.lookup();
+
+    @Test
+    public void testServer() throws IOException {
+        try(LookupServer server = new LookupServer(lookup, Alphabet.RUSSIAN, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)) {
+            server.start();
+            String base = "http://localhost:" + server.getAddress().getPort();
+
+            HttpURLConnection get = (HttpURLConnection) new URL(base + "/lookup?word=" + URLEncoder.encode("собакой", "UTF-8") + "&word=" + URLEncoder.encode("ёж", "UTF-8")).openConnection();
+            assertThat(get.getResponseCode(), is(200));
+            String response = readResponse(get.getInputStream());
+            assertTrue(response.contains("\"собакой\":[{\"lemma\":\"собака\""));
+            assertTrue(response.contains("\"ёж\":[]"));
+
+            HttpURLConnection post = post(base, "машиной\nсобаку\n\nмашиной\n");
+            assertThat(post.getResponseCode(), is(200));
+            response = readResponse(post.getInputStream());
+            assertTrue(response.startsWith("{\"машиной\":[{\"lemma\":\"машина\""));
+            assertTrue(response.contains("\"собаку\":[{\"lemma\":\"собака\""));
+
+            HttpURLConnection bad = (HttpURLConnection) new URL(base + "/lookup?word=xyz").openConnection();
+            assertThat(bad.getResponseCode(), is(400));
+            assertThat(readResponse(bad.getErrorStream()), containsString("xyz"));
+
+            StringBuilder batch = new StringBuilder();
+            for (int i = 0; i <= LookupServer.MAX_BATCH; i++) {
+                batch.append("собака\n");
+            }
+            assertThat(post(base, batch.toString()).getResponseCode(), is(413));
+
+            HttpURLConnection stats = (HttpURLConnection) new URL(base + "/stats").openConnection();
+            assertThat(readResponse(stats.getInputStream()), containsString("\"words\":4"));
+        }
+    }
+
+    private static HttpURLConnection post(String base, String body) throws IOException {
+        HttpURLConnection post = (HttpURLConnection) new URL(base + "/lookup").openConnection();
+        post.setRequestMethod("POST");
+        post.setDoOutput(true);
+        try(OutputStream out = post.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return post;
+    }
+
+    private static String readResponse(InputStream in) throws IOException {
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            StringBuilder result = new StringBuilder();
+            String line;
+            while((line = reader.readLine()) != null) {
+                result.append(line);
+            }
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.lookup.LookupServiceRegistry;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class TestLookupServiceRegistry {
+
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+
+    @Test
+    public void testRegistry() {
+        List<List<ParadigmRule>> paradigms = Collections.singletonList(Arrays.asList(
+                new ParadigmRule(Optional.empty(), "аа", Optional.empty()),
+                new ParadigmRule(Optional.of("s"), "аж", Optional.empty())
+        ));
+        Dictionary english = new Dictionary(paradigms, Collections.singletonList(new LexemeRec("cat", 0, Optional.empty(), 0, 0, Optional.empty())), Collections.emptyList());
+
+        LookupServiceRegistry registry = new LookupServiceRegistry();
+        registry.register("ru", dictionary, Alphabet.RUSSIAN);
+        registry.register("en", english, Alphabet.ENGLISH);
+        int ancodes = registry.getAncodeTable().size();
+
+        assertThat(registry.names(), is(new HashSet<>(Arrays.asList("ru", "en"))));
+        assertThat(registry.get("ru").get().lookup("собакой").size(), is(1));
+        List<LookupResult> resultList = registry.get("en").get().lookup("cats");
+        assertThat(resultList.size(), is(1));
+        assertThat(resultList.get(0).lexeme.homonyms.get(0).makeWord(), is("cat"));
+        assertFalse(registry.get("de").isPresent());
+
+        registry.register("en2", english, Alphabet.ENGLISH);
+        assertThat(registry.getAncodeTable().size(), is(ancodes)); // Ancodes are shared
+    }
+}
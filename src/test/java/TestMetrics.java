@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:56
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.Attribute;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.lookup.AttributeFilter;
+import ru.koluch.morphDict.lookup.InstrumentedLookupService;
+import ru.koluch.morphDict.lookup.LookupContext;
+import ru.koluch.morphDict.lookup.LookupService;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.metrics.LatencyHistogram;
+import ru.koluch.morphDict.metrics.LookupStatistics;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TestMetrics {
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.count(), is(100_000L));
+        assertWithin(histogram.percentile(50), 50_000);
+        assertWithin(histogram.percentile(99), 99_000);
+        assertWithin(histogram.max(), 100_000);
+
+        histogram.record(7);
+        histogram.reset();
+        histogram.record(7);
+        assertThat(histogram.percentile(100), is(7L));
+    }
+
+    private static void assertWithin(long actual, long expected) {
+        assertTrue(actual + " is not close to " + expected, Math.abs(actual - expected) <= expected * 0.04);
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        LookupService service = toFind -> {
+            ArrayList<LookupResult> result = new ArrayList<>();
+            for (int i = 0; i < toFind.length() - 3; i++) {
+                result.add(new LookupResult(null, null));
+            }
+            return result;
+        };
+        LookupStatistics statistics = new LookupStatistics();
+        LookupService instrumented = new InstrumentedLookupService(service, statistics);
+
+        assertThat(instrumented.lookup("кот").size(), is(0));
+        assertThat(instrumented.lookup("котик").size(), is(2));
+        assertThat(instrumented.lookup("котики").size(), is(3));
+
+        assertThat(statistics.getLookups(), is(3L));
+        assertThat(statistics.getHits(), is(2L));
+        assertThat(statistics.getMisses(), is(1L));
+        assertThat(statistics.getMeanResults(), is(5.0 / 3));
+        assertThat(statistics.getResultsDistribution()[2], is(1L));
+
+        ObjectName name = statistics.register("test");
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Lookups"), is((Object) 3L));
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+
+        statistics.reset();
+        assertThat(statistics.getLookups(), is(0L));
+    }
+
+    @Test
+    public void testPrefixTreeMetrics() {
+        LookupStatistics statistics = new LookupStatistics();
+        LookupService instrumented = new InstrumentedLookupService(DictionaryFixture.lookup(), statistics);
+        LookupContext context = new LookupContext();
+
+        assertThat(instrumented.lookup("собакой").size(), is(1));
+        assertThat(instrumented.lookup("собакой", context).size(), is(1));
+        assertThat(instrumented.lookup("собакой", context).size(), is(1));
+        assertThat(instrumented.lookup("собакой", AttributeFilter.all(Attribute.PLURAL)).size(), is(0));
+        assertThat(instrumented.lookup("кошкой").size(), is(0));
+
+        assertThat(statistics.getLookups(), is(5L));
+        assertThat(statistics.getHits(), is(3L));
+        assertThat(statistics.getMisses(), is(2L));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.prefixTree.BloomFilter;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.LexemeTable;
+import ru.koluch.morphDict.lookup.OverlayLookupService;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.lookup.WordFormStore;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.pool.OffHeapStringPool;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestOverlay {
+
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+    private final PrefixTree<DictionaryHelper.TreeData> tree = DictionaryFixture.tree();
+    private final PrefixTreeLookupService lookup = DictionaryFixture.lookup();
+
+    @Test
+    public void testOverlay() {
+        PrefixTreeLookupService base = new PrefixTreeLookupService(dictionary, tree);   // Fixture is not compacted
+        OverlayLookupService overlay = new OverlayLookupService(dictionary, base);
+        int paradigmId = lookup.lookupHits("собака").get(0).lexeme.paradigmId;
+        int baseSize = dictionary.lexemeRecs.size();
+
+        assertTrue(overlay.lookup("кошкой").isEmpty());
+        int lexemeId = overlay.addLexeme(new LexemeRec("кошк", paradigmId, Optional.empty(), 0, 0, Optional.empty()));
+        assertThat(lexemeId, is(baseSize));
+        assertThat(overlay.deltaSize(), is(1));
+
+        List<LookupResult> resultList = overlay.lookup("кошкой");
+        assertThat(resultList.size(), is(1));
+        assertThat(resultList.get(0).lexeme.homonyms.get(0).makeWord(), is("кошка"));
+        assertThat(overlay.lookup("собакой").size(), is(1));
+        assertTrue(base.lookup("кошкой").isEmpty()); // Base is not changed
+
+        overlay.compact();
+        assertThat(overlay.deltaSize(), is(0));
+        assertThat(overlay.size(), is(baseSize + 1));
+        assertThat(overlay.lookupHits("кошкой").get(0).lexeme.lexemeId, is(lexemeId));
+
+        try {
+            overlay.addLexeme(new LexemeRec("кошк", dictionary.paradigmList.size(), Optional.empty(), 0, 0, Optional.empty()));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertThat(overlay.size(), is(baseSize + 1));
+    }
+
+    @Test
+    public void testOverlayCompactionKeepsConfiguration() {
+        LexemeTable table = new LexemeTable(dictionary, new OffHeapStringPool());
+        PrefixTreeLookupService base = new PrefixTreeLookupService(table, tree, new WordFormStore(dictionary, 3), BloomFilter.build(tree, 0.05));
+        long basisBytes = table.getBasisPool().bytes();
+        OverlayLookupService overlay = new OverlayLookupService(dictionary, base);
+        int paradigmId = lookup.lookupHits("собака").get(0).lexeme.paradigmId;
+        overlay.addLexeme(new LexemeRec("кошк", paradigmId, Optional.empty(), 0, 0, Optional.empty()));
+        overlay.compact();
+
+        PrefixTreeLookupService compacted = overlay.getBase();
+        assertTrue(compacted != base);
+        assertTrue(compacted.getTemplates() == base.getTemplates());   // Affixes and ancode table are kept
+        assertTrue(compacted.getLexemeTable().getBasisPool() instanceof OffHeapStringPool);
+        assertThat(table.getBasisPool().bytes(), is(basisBytes));     // Bases went to a new pool
+        assertThat(base.lookup("собакой").get(0).lexeme.homonyms.get(0).makeWord(), is("собака"));
+        assertThat(compacted.lookup("кошкой").size(), is(1));
+        compacted.fillStore();  // Fails without store
+
+        int[] built = new int[1];
+        OverlayLookupService custom = new OverlayLookupService(dictionary, base, compactedDictionary -> {
+            built[0]++;
+            return new PrefixTreeLookupService(compactedDictionary, DictionaryHelper.buildPrefixTree(compactedDictionary));
+        });
+        custom.addLexeme(new LexemeRec("кошк", paradigmId, Optional.empty(), 0, 0, Optional.empty()));
+        custom.compact();
+        assertThat(built[0], is(1));
+        assertThat(custom.lookup("кошкой").size(), is(1));
+    }
+}
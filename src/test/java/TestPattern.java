@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.lookup.data.LookupHit;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.prefixTree.WordPattern;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.lookup.SuffixIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPattern {
+
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+    private final PrefixTree<DictionaryHelper.TreeData> tree = DictionaryFixture.tree();
+    private final PrefixTreeLookupService lookup = DictionaryFixture.lookup();
+
+    @Test
+    public void testPattern() {
+        List<String> keys = new ArrayList<>();
+        tree.forEach((key, treeDataList) -> keys.add(key));
+
+        for (String pattern : new String[]{"ма?ин*", "*ой", "*", "[сб]о*", "[^м]*а", "*а*а*", "?????", "собакой", "наи*"}) {
+            WordPattern compiled = WordPattern.compile(pattern, tree.getAlphabet());
+            List<String> expected = new ArrayList<>();
+            for (String key : keys) {
+                if(compiled.matches(key)) {
+                    expected.add(key);
+                }
+            }
+            assertThat(pattern, lookup.findWords(pattern, Integer.MAX_VALUE), is(expected));
+        }
+        assertTrue(lookup.findWords("ма?ин*", 100).containsAll(Arrays.asList("машина", "машиной")));
+
+        SuffixIndex suffixIndex = new SuffixIndex(dictionary);
+        for (String pattern : new String[]{"*ой", "*[ая]", "?*к?й", "*"}) {
+            Set<String> expected = new HashSet<>(lookup.findWords(pattern, Integer.MAX_VALUE));
+            assertThat(pattern, new HashSet<>(suffixIndex.findWords(pattern, Integer.MAX_VALUE)), is(expected));
+        }
+        assertThat(lookup.findWords("*", 2).size(), is(2));
+        assertTrue(lookup.findWords("ъ*", 10).isEmpty());
+
+        List<LookupHit> hits = new ArrayList<>();
+        assertThat(lookup.findByPattern(WordPattern.compile("собак?й", tree.getAlphabet()), 10, () -> false, hits::add), is(1));
+        assertThat(hits.get(0).wordForm().makeWord(), is("собакой"));
+        assertThat(lookup.findByPattern(WordPattern.compile("*", tree.getAlphabet()), 10, () -> true, hits::add), is(0));
+
+        try {
+            lookup.findWords("[аб", 10);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
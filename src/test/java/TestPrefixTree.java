@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:47
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.prefixTree.BloomFilter;
+import ru.koluch.morphDict.prefixTree.NodeVisitor;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.prefixTree.Statistics;
+import ru.koluch.morphDict.prefixTree.WordPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TestPrefixTree {
+
+    @Test
+    public void testAlphabet() {
+        Alphabet alphabet = Alphabet.RUSSIAN;
+        assertThat(alphabet.size(), is(33));
+        assertThat(alphabet.code('а'), is(0));
+        assertThat(alphabet.code('ё'), is(6));
+        assertThat(alphabet.code('я'), is(32));
+        assertThat(alphabet.code('z'), is(-1));
+        assertThat(alphabet.decode(alphabet.encode("ёжик"), 4), is("ёжик"));
+        assertThat(alphabet.encode("ёжик1", new byte[5], 0), is(-1));
+    }
+
+    @Test
+    public void testAddAndFind() {
+        PrefixTree<Integer> tree = new PrefixTree<>();
+        tree.add("кот", 1);
+        tree.add("кот", 2);
+        tree.add("котёнок", 3);
+
+        assertThat(tree.find("кот"), is(Arrays.asList(1, 2)));
+        assertThat(tree.find("котёнок"), is(Arrays.asList(3)));
+        assertThat(tree.find("ко"), nullValue());
+        assertThat(tree.find("котик"), nullValue());
+        assertFalse(tree.get("кошка").isPresent());
+
+        byte[] key = Alphabet.RUSSIAN.encode("котёнок");
+        assertThat(tree.find(key, key.length), is(Arrays.asList(3)));
+        assertThat(tree.find(key, 3), is(Arrays.asList(1, 2)));
+    }
+
+    @Test
+    public void testForEach() {
+        PrefixTree<Integer> tree = new PrefixTree<>();
+        tree.add("кот", 1);
+        tree.add("кот", 2);
+        tree.add("котёнок", 3);
+        tree.add("азбука", 4);
+        tree.add("", 5);
+
+        List<String> keys = new ArrayList<>();
+        List<List<Integer>> data = new ArrayList<>();
+        tree.forEach((key, list) -> {
+            keys.add(key);
+            data.add(list);
+        });
+        assertThat(keys, is(Arrays.asList("", "азбука", "кот", "котёнок")));
+        assertThat(data.get(2), is(Arrays.asList(1, 2)));
+
+        List<String> first = new ArrayList<>();
+        assertFalse(tree.forEachWhile((key, list) -> first.add(key) && first.size() < 2));
+        assertThat(first, is(Arrays.asList("", "азбука")));
+    }
+
+    @Test
+    public void testWalk() {
+        PrefixTree<Integer> tree = new PrefixTree<>();
+        tree.add("кот", 1);
+        tree.add("кит", 2);
+
+        List<String> entered = new ArrayList<>();
+        List<String> left = new ArrayList<>();
+        tree.walk(new NodeVisitor<Integer>() {
+            @Override
+            public boolean enter(PrefixTree<Integer> node, byte[] key, int depth) {
+                entered.add(tree.getAlphabet().decode(key, depth));
+                return true;
+            }
+
+            @Override
+            public void leave(PrefixTree<Integer> node, byte[] key, int depth) {
+                left.add(tree.getAlphabet().decode(key, depth));
+            }
+        });
+        assertThat(entered, is(Arrays.asList("", "к", "ки", "кит", "ко", "кот")));
+        assertThat(left, is(Arrays.asList("кит", "ки", "кот", "ко", "к", "")));
+        assertThat(entered.size(), is(Statistics.countNodes(tree)));
+    }
+
+    @Test
+    public void testWordPattern() {
+        Alphabet alphabet = Alphabet.RUSSIAN;
+        assertTrue(WordPattern.compile("ма?ин*", alphabet).matches("машиной"));
+        assertTrue(WordPattern.compile("ма?ин*", alphabet).matches("малина"));
+        assertFalse(WordPattern.compile("ма?ин*", alphabet).matches("мaшина"));   // Latin "a"
+        assertTrue(WordPattern.compile("*ость", alphabet).matches("ость"));
+        assertTrue(WordPattern.compile("**а**", alphabet).matches("а"));
+        assertTrue(WordPattern.compile("[а-в]?[^б]", alphabet).matches("бея"));
+        assertFalse(WordPattern.compile("[а-в]?[^б]", alphabet).matches("гея"));
+        assertFalse(WordPattern.compile("[а-в]?[^б]", alphabet).matches("беб"));
+        assertFalse(WordPattern.compile("?", alphabet).matches(""));
+        assertTrue(WordPattern.compile("", alphabet).matches(""));
+        assertThat(WordPattern.compile("*[аб]?с", alphabet).reverse().toString(), is("с?[аб]*"));
+        assertTrue(WordPattern.compile("*ость", alphabet).reverse().matches("ьтсо"));
+
+        PrefixTree<Integer> tree = new PrefixTree<>();
+        for (String word : Arrays.asList("кот", "кора", "корова", "крот", "мак")) {
+            tree.add(word, word.length());
+        }
+        List<String> found = new ArrayList<>();
+        assertTrue(WordPattern.compile("к*о?", alphabet).forEachMatch(tree, () -> false, (key, data) -> found.add(key)));
+        assertThat(found, is(Arrays.asList("кот", "крот")));
+
+        int[] visited = new int[1];
+        assertFalse(WordPattern.compile("*", alphabet).forEachMatch(tree, () -> visited[0]++ == 3, (key, data) -> true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPattern() {
+        WordPattern.compile("ма[]", Alphabet.RUSSIAN);
+    }
+
+    @Test
+    public void testOtherAlphabets() {
+        PrefixTree<Integer> english = new PrefixTree<>(Alphabet.ENGLISH);
+        english.add("cat", 1);
+        english.add("o'clock", 2);
+        assertThat(english.find("cat"), is(Arrays.asList(1)));
+        assertThat(english.find("o'clock"), is(Arrays.asList(2)));
+        assertThat(english.getAlphabet().size(), is(27));
+
+        PrefixTree<Integer> german = new PrefixTree<>(Alphabet.GERMAN);
+        german.add("straße", 1);
+        assertThat(german.find("straße"), is(Arrays.asList(1)));
+        assertThat(german.find("strasse"), nullValue());
+
+        Alphabet binary = new Alphabet("01");
+        assertThat(binary.decode(binary.encode("0110"), 4), is("0110"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRepeatedLetter() {
+        new Alphabet("abca");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadLetter() {
+        new PrefixTree<Integer>().find("cat");
+    }
+    @Test
+    public void testStatistics() {
+        PrefixTree<Integer> tree = new PrefixTree<>();
+        tree.add("кот", 1);
+        tree.add("кит", 2);
+        tree.add("котёнок", 3);
+
+        assertThat(Statistics.countNodes(tree), is(10)); // root, к, о, т, ё, н, о, к, и, т
+        assertThat(Statistics.countLeafs(tree), is(2));
+        assertThat(Statistics.countMaxDeep(tree), is(7));
+    }
+
+    @Test
+    public void testBloomFilter() {
+        Random random = new Random(42);
+        PrefixTree<Integer> tree = new PrefixTree<>();
+        Set<String> words = new HashSet<>();
+        while(words.size() < 10000) {
+            String word = randomWord(random);
+            words.add(word);
+            tree.add(word, words.size());
+        }
+        BloomFilter filter = BloomFilter.build(tree, 0.01);
+        for (String word : words) {
+            assertTrue(filter.mightContain(word));
+        }
+        assertFalse(filter.mightContain("cat"));
+        assertFalse(filter.mightContain("2015"));
+
+        int tries = 100000;
+        int falsePositives = 0;
+        for (int i = 0; i < tries; i++) {
+            String word = randomWord(random);
+            if(!words.contains(word) && filter.mightContain(word)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positive rate: " + (double) falsePositives / tries, falsePositives < tries * 0.02);
+        assertTrue(filter.bytes() < 10000 * 2); // About 1.2 bytes per key for 1%
+
+        // Keys added as strings and as letter codes are the same keys
+        BloomFilter added = new BloomFilter(Alphabet.RUSSIAN, 2, 0.01);
+        added.add("кот");
+        byte[] key = Alphabet.RUSSIAN.encode("кит");
+        added.add(key, key.length);
+        assertTrue(added.mightContain("кот"));
+        assertTrue(added.mightContain("кит"));
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = Alphabet.RUSSIAN.letter(random.nextInt(Alphabet.RUSSIAN.size()));
+        }
+        return new String(word);
+    }
+}
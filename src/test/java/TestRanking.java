@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.FrequencyPriors;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.lookup.RankingLookupService;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestRanking {
+
+    @Test
+    public void testRanking() throws IOException, DictionaryHelper.ParseException {
+        List<List<ParadigmRule>> paradigms = Arrays.asList(
+                Collections.singletonList(new ParadigmRule(Optional.empty(), "аа", Optional.empty())),
+                Collections.singletonList(new ParadigmRule(Optional.empty(), "га", Optional.empty()))
+        );
+        Dictionary homonyms = new Dictionary(paradigms, Arrays.asList(
+                new LexemeRec("стал", 0, Optional.empty(), 0, 0, Optional.empty()),
+                new LexemeRec("стал", 1, Optional.empty(), 0, 0, Optional.empty())
+        ), Collections.emptyList());
+        PrefixTreeLookupService homonymLookup = new PrefixTreeLookupService(homonyms, DictionaryHelper.buildPrefixTree(homonyms));
+
+        FrequencyPriors priors = FrequencyPriors.load(new StringReader("# counts\nancode аа 10\nancode га 1000\nancode unknown 5\nparadigm 0 3\n"), homonymLookup.getTemplates());
+        RankingLookupService ranking = new RankingLookupService(homonymLookup, priors);
+
+        assertThat(homonymLookup.lookup("стал").get(0).wordForm.ancode, is("аа"));
+        List<LookupResult> ranked = ranking.lookup("стал");
+        assertThat(ranked.size(), is(2));
+        assertThat(ranked.get(0).wordForm.ancode, is("га"));
+        assertThat(ranked.get(1).wordForm.ancode, is("аа"));
+        assertThat(ranking.lookupBest("стал").get().wordForm.ancode, is("га"));
+        assertFalse(ranking.lookupBest("стала").isPresent());
+
+        // Priors made for a smaller dictionary treat other paradigms as unseen
+        FrequencyPriors smaller = new FrequencyPriors(new long[]{10, 1000}, new long[]{3});
+        assertThat(smaller.paradigmLogPrior(1), is(smaller.paradigmLogPrior(5)));
+        assertTrue(smaller.paradigmLogPrior(1) < smaller.paradigmLogPrior(0));
+        assertThat(new RankingLookupService(homonymLookup, smaller).lookup("стал").size(), is(2));
+
+        try {
+            FrequencyPriors.load(new StringReader("paradigm 5 1"), homonymLookup.getTemplates());
+            fail();
+        } catch (DictionaryHelper.ParseException ignored) {
+        }
+    }
+}
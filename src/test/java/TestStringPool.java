@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:46
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.pool.HeapStringPool;
+import ru.koluch.morphDict.pool.OffHeapStringPool;
+import ru.koluch.morphDict.pool.StringPool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class TestStringPool {
+
+    private static final String[] STRINGS = {"", "собака", "ёжик", "latin", "日本", "ending", "собака"};
+
+    @Test
+    public void testHeapPool() {
+        check(new HeapStringPool());
+    }
+
+    @Test
+    public void testOffHeapPool() {
+        check(new OffHeapStringPool(16)); // Small capacity, so buffer has to grow
+    }
+
+    private void check(StringPool pool) {
+        List<Integer> ids = new ArrayList<>();
+        for (String string : STRINGS) {
+            ids.add(pool.add(string));
+        }
+        assertThat(ids.get(6), is(ids.get(1)));
+        assertThat(ids.get(2), not(ids.get(1)));
+
+        pool.trim();
+        for (int i = 0; i < STRINGS.length; i++) {
+            assertThat(pool.get(ids.get(i)), is(STRINGS[i]));
+        }
+
+        // Strings could be added after trim
+        int id = pool.add("после");
+        assertThat(pool.get(id), is("после"));
+        assertThat(pool.get(ids.get(4)), is("日本"));
+    }
+}
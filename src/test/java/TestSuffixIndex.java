@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.lookup.data.LookupHit;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.SuffixIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TestSuffixIndex {
+
+    // Shared by all tests, so they must not be modified
+    private final Dictionary dictionary = DictionaryFixture.dictionary();
+    private final PrefixTree<DictionaryHelper.TreeData> tree = DictionaryFixture.tree();
+
+    @Test
+    public void testSuffixIndex() {
+        SuffixIndex index = new SuffixIndex(dictionary);
+
+        List<String> words = new ArrayList<>();
+        for (LookupHit hit : index.findBySuffix("ой", 100)) {
+            words.add(hit.lexeme.word(hit.formNum));
+        }
+        assertTrue(words.contains("собакой"));
+        assertTrue(words.contains("машиной"));
+        for (String word : words) {
+            assertTrue(word, word.endsWith("ой"));
+        }
+        assertThat(index.countBySuffix("ой"), is((long) words.size()));
+
+        long total = index.countBySuffix("");
+        long[] treeTotal = new long[1];
+        tree.forEach((key, treeDataList) -> treeTotal[0] += treeDataList.size());
+        assertThat(total, is(treeTotal[0]));
+
+        assertThat(index.findBySuffix("", 3).size(), is(3));
+        assertThat(index.findBySuffix("ой", 0).size(), is(0));
+        assertThat(index.findBySuffix("ъъъ", 10).size(), is(0));
+        int[] streamed = new int[1];
+        assertThat(index.findBySuffix("", 5, hit -> streamed[0]++), is(5));
+        assertThat(streamed[0], is(5));
+    }
+}
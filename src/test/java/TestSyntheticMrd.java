@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:29
+ */
+
+import org.junit.Test;
+import ru.koluch.morphDict.benchmark.SyntheticMrd;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TestSyntheticMrd {
+
+    @Test
+    public void testSyntheticDictionary() throws DictionaryHelper.ParseException {
+        SyntheticMrd generator = new SyntheticMrd(20, 500, 10, 1.5, 0.2, 7);
+        String content = generator.generate();
+        assertThat(new SyntheticMrd(20, 500, 10, 1.5, 0.2, 7).generate(), is(content));
+        assertThat(new SyntheticMrd(20, 500, 10, 1.5, 0.2, 8).generate(), not(content));
+
+        Dictionary synthetic = DictionaryHelper.parse(new StringReader(content));
+        assertThat(synthetic.paradigmList.size(), is(20));
+        assertThat(synthetic.lexemeRecs.size(), is(500));
+        assertThat(synthetic.accentModels.size(), is(20));
+
+        PrefixTreeLookupService syntheticLookup = new PrefixTreeLookupService(synthetic, DictionaryHelper.buildPrefixTree(synthetic));
+        Set<String> bases = new HashSet<>();
+        int homonyms = 0;
+        for (int i = 0; i < synthetic.lexemeRecs.size(); i++) {
+            if(!bases.add(synthetic.lexemeRecs.get(i).basis)) {
+                homonyms++;
+            }
+            String lemma = syntheticLookup.getLexemeTable().lemma(i);
+            assertTrue(lemma, syntheticLookup.lemmatize(lemma).contains(lemma));
+        }
+        assertTrue(homonyms > 50 && homonyms < 150);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:12
+ */
+package ru.koluch.morphDict.benchmark;
+
+import ru.koluch.morphDict.fixture.DictionaryFixture;
+import ru.koluch.morphDict.lookup.LexemeTable;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dictionary for benchmarks: file from "benchmark.dictionary" system property, or dictionary of tests (see
+ * {@link DictionaryFixture}). Property value "synthetic:N" means generated dictionary of N lexemes, see {@link SyntheticMrd#ofSize(int)}
+ */
+public class BenchmarkDictionary {
+
+    private static final String SYNTHETIC = "synthetic:";
+
+    /**
+     * @return content of dictionary file
+     */
+    public static String read() throws IOException {
+        String path = System.getProperty("benchmark.dictionary", "");
+        if(path.startsWith(SYNTHETIC)) {
+            return SyntheticMrd.ofSize(Integer.parseInt(path.substring(SYNTHETIC.length()))).generate();
+        }
+        if(!path.isEmpty()) {
+            return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+        }
+        return new String(DictionaryFixture.bytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return up to count word forms of dictionary, one form of every lexeme, taken evenly. Only forms
+     * which could be found in prefix tree are taken
+     */
+    public static String[] words(LexemeTable lexemeTable, int count) {
+        List<String> result = new ArrayList<>(count);
+        int step = Math.max(1, lexemeTable.size() / count);
+        for (int i = 0; i < lexemeTable.size() && result.size() < count; i += step) {
+            int formNum = i % lexemeTable.formCount(i);
+            String word = lexemeTable.handle(i).word(formNum);
+            // Own prefixes of forms are not put to prefix tree, so such forms are not found
+            boolean hasPrefix = lexemeTable.getTemplates().hasPrefix(lexemeTable.paradigmId(i), formNum);
+            if(!hasPrefix && Alphabet.RUSSIAN.encode(word, new byte[word.length()], 0) != -1) {
+                result.add(word);
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+}
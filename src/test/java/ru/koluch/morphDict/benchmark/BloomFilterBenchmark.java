@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:09
+ */
+package ru.koluch.morphDict.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.prefixTree.BloomFilter;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups of absent words in prefix tree with and without Bloom filter in front of it. Absent words
+ * share prefixes with keys, so tree descent doesn't stop at the first letter.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=BloomFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BloomFilterBenchmark {
+
+    @Param({"0.01", "0.001"})
+    public double falsePositiveRate;
+
+    private String[] misses;
+    private PrefixTree<Integer> tree;
+    private BloomFilter filter;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        tree = new PrefixTree<>();
+        for (int i = 0; i < 200_000; i++) {
+            tree.add(word(random, 12), i);
+        }
+        filter = BloomFilter.build(tree, falsePositiveRate);
+
+        misses = new String[10_000];
+        for (int i = 0; i < misses.length; i++) {
+            misses[i] = word(random, 13);
+        }
+    }
+
+    private static String word(Random random, int length) {
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = Alphabet.RUSSIAN.letter(random.nextInt(8)); // Few letters, so words share long prefixes
+        }
+        return new String(word);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public void tree(Blackhole blackhole) {
+        for (String word : misses) {
+            blackhole.consume(tree.find(word));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public void filterThenTree(Blackhole blackhole) {
+        for (String word : misses) {
+            blackhole.consume(filter.mightContain(word) ? tree.find(word) : null);
+        }
+    }
+}
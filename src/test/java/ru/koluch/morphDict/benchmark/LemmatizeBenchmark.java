@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:12
+ */
+package ru.koluch.morphDict.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares getting lemma through full lookup with lemmatization fast path.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=LemmatizeBenchmark -Dbenchmark.dictionary=/path/to/morphs.mrd
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LemmatizeBenchmark {
+
+    private static final int WORDS = 10_000;
+
+    private PrefixTreeLookupService lookup;
+    private String[] words;
+
+    @Setup
+    public void setup() throws IOException, DictionaryHelper.ParseException {
+        Dictionary dictionary = DictionaryHelper.parse(new StringReader(BenchmarkDictionary.read()));
+        lookup = new PrefixTreeLookupService(dictionary, DictionaryHelper.buildPrefixTree(dictionary));
+        words = BenchmarkDictionary.words(lookup.getLexemeTable(), WORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void lookupLemma(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(lookup.lookup(word).get(0).lexeme.homonyms.get(0).makeWord());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void lemmatize(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(lookup.lemmatize(word));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void lemmaIds(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(lookup.lemmaIds(word));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:17
+ */
+package ru.koluch.morphDict.benchmark;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.metrics.LatencyHistogram;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.server.LookupServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for {@link LookupServer}: several threads post batches of random words of dictionary for a fixed
+ * time, then throughput and latency percentiles are reported. Dictionary is chosen like for benchmarks, see
+ * {@link BenchmarkDictionary}. Without url, server for the dictionary is started in the same process.
+ * <p>
+ * Run with: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="[url] [threads] [seconds] [batch size]" -Dbenchmark.dictionary=/path/to/morphs.mrd
+ */
+public class LoadTestClient {
+
+    private final URL url;
+    private final List<String> words;
+    private final int batchSize;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * @param url url of lookup endpoint, like http://localhost:8080/lookup
+     * @param words words to lookup
+     * @param batchSize number of words in request
+     */
+    public LoadTestClient(URL url, List<String> words, int batchSize) {
+        this.url = url;
+        this.words = words;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Run load and wait until it's over
+     *
+     * @return report
+     */
+    public String run(int threads, long millis) throws InterruptedException {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                while(System.nanoTime() < deadline) {
+                    sendBatch();
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        double seconds = millis / 1000.0;
+        return String.format("requests: %d, errors: %d, requests/s: %.0f, words/s: %.0f, latency us: p50 %d, p99 %d, p99.9 %d, max %d",
+                requests.sum(), errors.sum(), requests.sum() / seconds, requests.sum() * batchSize / seconds,
+                latency.percentile(50) / 1000, latency.percentile(99) / 1000, latency.percentile(99.9) / 1000, latency.max() / 1000);
+    }
+
+    private void sendBatch() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < batchSize; i++) {
+            body.append(words.get(ThreadLocalRandom.current().nextInt(words.size()))).append('\n');
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+            try(OutputStream out = connection.getOutputStream()) {
+                out.write(bytes);
+            }
+            if(connection.getResponseCode() != 200) {
+                errors.increment();
+            }
+            try(InputStream in = connection.getResponseCode() == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+                byte[] buffer = new byte[8192];
+                while(in != null && in.read(buffer) != -1) {
+                    // Read response fully, so connection could be reused
+                }
+            }
+        } catch (IOException ex) {
+            errors.increment();
+        }
+        latency.record(System.nanoTime() - start);
+        requests.increment();
+    }
+
+    /**
+     * Usage: LoadTestClient [url|-] [threads] [seconds] [batch size]
+     */
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "-";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+        int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        Dictionary dictionary = DictionaryHelper.parse(new StringReader(BenchmarkDictionary.read()));
+        PrefixTreeLookupService lookup = new PrefixTreeLookupService(dictionary, DictionaryHelper.buildPrefixTree(dictionary));
+        List<String> words = Arrays.asList(BenchmarkDictionary.words(lookup.getLexemeTable(), 10000));
+
+        LookupServer server = null;
+        if("-".equals(url)) {
+            server = new LookupServer(lookup, Alphabet.RUSSIAN, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Runtime.getRuntime().availableProcessors());
+            server.start();
+            url = "http://localhost:" + server.getAddress().getPort() + "/lookup";
+        }
+        try {
+            LoadTestClient client = new LoadTestClient(new URL(url), words, batchSize);
+            System.out.println(client.run(threads, seconds * 1000));
+        } finally {
+            if(server != null) {
+                server.close();
+            }
+        }
+    }
+}
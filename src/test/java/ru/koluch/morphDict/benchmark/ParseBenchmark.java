@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:02
+ */
+package ru.koluch.morphDict.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.dictionary.data.LexemeRec;
+import ru.koluch.morphDict.dictionary.data.ParadigmRule;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares dictionary parsing with hand-written scanner against the former regex and split based parser. File is
+ * read into memory once, so only parsing is measured.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ParseBenchmark -Dbenchmark.dictionary=/path/to/morphs.mrd
+ * (without dictionary path, dictionary of tests is used)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    private String content;
+
+    @Setup
+    public void setup() throws IOException {
+        content = BenchmarkDictionary.read();
+    }
+
+    @Benchmark
+    public Dictionary scanner() throws DictionaryHelper.ParseException {
+        return DictionaryHelper.parse(new StringReader(content));
+    }
+
+    @Benchmark
+    public Dictionary regex() throws IOException {
+        return RegexMrdParser.parse(new StringReader(content));
+    }
+
+    /**
+     * Former implementation of parser, kept as a baseline
+     */
+    public static class RegexMrdParser {
+
+        public static Dictionary parse(Reader reader) throws IOException {
+            try(BufferedReader fin = new BufferedReader(reader)) {
+
+                List<List<ParadigmRule>> allRules = new ArrayList<>();
+                int num = Integer.valueOf(fin.readLine());
+                Pattern paradigmListEx = Pattern.compile("\\%([^\\%]+)");
+                Pattern paradigmEx = Pattern.compile("([^\\*]+)?\\*([^\\*]+)(?:\\*([^\\*]+))?");
+                for (int i = 0; i < num; ++i) {
+                    String nextString = fin.readLine();
+                    Matcher matcher = paradigmListEx.matcher(nextString);
+
+                    List<ParadigmRule> paradigmRules = new ArrayList<>();
+                    while(matcher.find())
+                    {
+                        String paradigmString = matcher.group(1);
+                        Matcher paradigmMatcher = paradigmEx.matcher(paradigmString);
+                        if(paradigmMatcher.find())
+                        {
+                            String ending = paradigmMatcher.group(1);
+                            String ancode = paradigmMatcher.group(2);
+                            String prefix = paradigmMatcher.group(3);
+
+                            paradigmRules.add(new ParadigmRule(
+                                    Optional.ofNullable(ending).map(String::toLowerCase),
+                                    ancode,
+                                    Optional.ofNullable(prefix).map(String::toLowerCase)
+                            ));
+                        }
+                    }
+
+                    allRules.add(paradigmRules);
+                }
+
+                // Skip: accents, journal
+                for (int section = 0; section < 2; section++) {
+                    num = Integer.decode(fin.readLine());
+                    for (int i = 0; i < num; ++i) {
+                        fin.readLine();
+                    }
+                }
+
+                ArrayList<String> prefixes = new ArrayList<>();
+                num = Integer.decode(fin.readLine());
+                for (int i = 0; i < num; ++i) {
+                    prefixes.add(fin.readLine().toLowerCase());
+                }
+
+                List<LexemeRec> lexemeRecs = new ArrayList<>();
+                num = Integer.decode(fin.readLine());
+                for (int i = 0; i < num; ++i) {
+                    String[] lemParts = fin.readLine().split(" ");
+
+                    String basis = lemParts[0];
+                    Integer paradigmNum = Integer.valueOf(lemParts[1]);
+                    Integer accentParadigmNum = Integer.valueOf(lemParts[2]);
+                    Integer userSessionNum = Integer.valueOf(lemParts[3]);
+                    String anc = lemParts[4].equals("-") ? null : lemParts[4];
+                    Integer prefixParadigmNum = lemParts[5].equals("-") ? null : Integer.valueOf(lemParts[5]);
+
+                    lexemeRecs.add(new LexemeRec(
+                            basis.toLowerCase(),
+                            paradigmNum,
+                            Optional.ofNullable(anc),
+                            accentParadigmNum,
+                            userSessionNum,
+                            Optional.ofNullable(prefixParadigmNum)
+                    ));
+                }
+
+                return new Dictionary(allRules, lexemeRecs, prefixes);
+            }
+        }
+    }
+}
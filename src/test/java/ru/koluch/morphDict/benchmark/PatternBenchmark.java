@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 20:05
+ */
+package ru.koluch.morphDict.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+import ru.koluch.morphDict.prefixTree.WordPattern;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares pattern matching on prefix tree and on suffix tree with naive scan over all word forms.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=PatternBenchmark -Dbenchmark.dictionary=synthetic:200000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    @Param({"ма?ин*", "*ость", "[бв]??о*", "?????"})
+    public String pattern;
+
+    private PrefixTree<DictionaryHelper.TreeData> tree;
+    private PrefixTree<DictionaryHelper.TreeData> suffixTree;
+    private String[] words;
+    private WordPattern compiled;
+    private WordPattern reversed;
+
+    @Setup
+    public void setup() throws IOException, DictionaryHelper.ParseException {
+        Dictionary dictionary = DictionaryHelper.parse(new StringReader(BenchmarkDictionary.read()));
+        tree = DictionaryHelper.buildPrefixTree(dictionary);
+        suffixTree = DictionaryHelper.buildSuffixTree(dictionary);
+        List<String> keys = new ArrayList<>();
+        tree.forEach((key, treeDataList) -> keys.add(key));
+        words = keys.toArray(new String[0]);
+        compiled = WordPattern.compile(pattern, tree.getAlphabet());
+        reversed = compiled.reverse();
+    }
+
+    @Benchmark
+    public List<String> tree() {
+        List<String> result = new ArrayList<>();
+        compiled.forEachMatch(tree, () -> false, (key, treeDataList) -> result.add(key));
+        return result;
+    }
+
+    @Benchmark
+    public List<String> suffixTree() {
+        List<String> result = new ArrayList<>();
+        reversed.forEachMatch(suffixTree, () -> false, (key, treeDataList) -> result.add(new StringBuilder(key).reverse().toString()));
+        return result;
+    }
+
+    @Benchmark
+    public List<String> scan() {
+        List<String> result = new ArrayList<>();
+        for (String word : words) {
+            if(compiled.matches(word)) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+}
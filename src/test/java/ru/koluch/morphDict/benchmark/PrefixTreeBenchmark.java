@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 18:54
+ */
+package ru.koluch.morphDict.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares iterative prefix tree with the former recursive implementation, which copied the rest of the key
+ * with substring on every level. Long word lengths model compound words.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=PrefixTreeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixTreeBenchmark {
+
+    private static final String LETTERS = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+
+    @Param({"8", "24", "64"})
+    public int wordLength;
+
+    private String[] words;
+    private PrefixTree<Integer> tree;
+    private RecursivePrefixTree<Integer> recursiveTree;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        words = new String[10_000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder(wordLength);
+            for (int j = 0; j < wordLength; j++) {
+                word.append(LETTERS.charAt(random.nextInt(8))); // Few letters, so words share long prefixes
+            }
+            words[i] = word.toString();
+        }
+
+        tree = new PrefixTree<>();
+        recursiveTree = new RecursivePrefixTree<>();
+        for (int i = 0; i < words.length; i++) {
+            tree.add(words[i], i);
+            recursiveTree.add(words[i], i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public void iterativeFind(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(tree.find(word));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public void recursiveGet(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(recursiveTree.get(word));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public PrefixTree<Integer> iterativeAdd() {
+        PrefixTree<Integer> result = new PrefixTree<>();
+        for (int i = 0; i < words.length; i++) {
+            result.add(words[i], i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public RecursivePrefixTree<Integer> recursiveAdd() {
+        RecursivePrefixTree<Integer> result = new RecursivePrefixTree<>();
+        for (int i = 0; i < words.length; i++) {
+            result.add(words[i], i);
+        }
+        return result;
+    }
+
+    /**
+     * Former implementation of prefix tree, kept as a baseline
+     */
+    public static class RecursivePrefixTree<T> {
+
+        private RecursivePrefixTree<T>[] branches;
+        private List<T> data;
+
+        @SuppressWarnings("unchecked")
+        public void add(String wordForm, T data) {
+            if(wordForm.length()==0) {
+                if(this.data == null) {
+                    this.data = new ArrayList<>();
+                }
+                this.data.add(data);
+            }
+            else {
+                int index = getIndex(wordForm.charAt(0));
+                String rest = wordForm.substring(1);
+                if(this.branches==null) {
+                    this.branches = new RecursivePrefixTree[33];
+                }
+                if(this.branches[index]==null) {
+                    this.branches[index] = new RecursivePrefixTree<>();
+                }
+                this.branches[index].add(rest, data);
+            }
+        }
+
+        public List<T> get(String wordForm) {
+            if(wordForm.length()==0) {
+                return this.data;
+            }
+            int index = getIndex(wordForm.charAt(0));
+            if(this.branches==null || this.branches[index]==null) {
+                return null;
+            }
+            return this.branches[index].get(wordForm.substring(1));
+        }
+
+        private static int getIndex(char nextBranch) {
+            if(nextBranch >= 'а' && nextBranch <= 'е') {
+                return nextBranch - 'а';
+            }
+            else if (nextBranch=='ё') {
+                return 'е' - 'а' + 1;
+            }
+            else if (nextBranch > 'е' && nextBranch <= 'я') {
+                return nextBranch - 'а' + 1;
+            }
+            throw new IllegalArgumentException("Bad branch: '" + nextBranch + "'");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:51
+ */
+package ru.koluch.morphDict.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows how parsing, index building and lookup scale with number of lexemes, on dictionaries made by
+ * {@link SyntheticMrd}. Needs a large heap for the biggest dictionary.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ScalingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ScalingBenchmark {
+
+    private static final int WORDS = 10_000;
+
+    @Param({"100000", "500000", "2000000"})
+    public int lexemes;
+
+    private String content;
+    private Dictionary dictionary;
+    private PrefixTreeLookupService lookup;
+    private String[] words;
+
+    @Setup(Level.Trial)
+    public void setup() throws DictionaryHelper.ParseException {
+        content = SyntheticMrd.ofSize(lexemes).generate();
+        dictionary = DictionaryHelper.parse(new StringReader(content));
+        lookup = new PrefixTreeLookupService(dictionary, DictionaryHelper.buildPrefixTree(dictionary));
+        words = BenchmarkDictionary.words(lookup.getLexemeTable(), WORDS);
+    }
+
+    @Benchmark
+    public Dictionary parse() throws DictionaryHelper.ParseException {
+        return DictionaryHelper.parse(new StringReader(content));
+    }
+
+    @Benchmark
+    public PrefixTree<DictionaryHelper.TreeData> buildPrefixTree() {
+        return DictionaryHelper.buildPrefixTree(dictionary);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @OperationsPerInvocation(WORDS)
+    public void lookup(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(lookup.lookupHits(word));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:51
+ */
+package ru.koluch.morphDict.benchmark;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generator of synthetic dictionaries in MRD format, to test how parsing, index building and lookup scale with
+ * dictionary size. The same parameters and seed always give the same file.
+ * <p>
+ * Letters of bases and endings follow Zipf distribution with configurable exponent (alphabet skew), popularity
+ * of paradigms follows Zipf distribution with exponent 1, like in real dictionaries. Homonym density is a share
+ * of lexemes, which reuse basis of some previous lexeme with another paradigm
+ */
+public class SyntheticMrd {
+
+    private static final String LETTERS = "АБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯ";
+    private static final String VOWELS = "АЕЁИОУЫЭЮЯ";
+    private static final String[] ANCODES = {
+            "аа", "аб", "ав", "аг", "ад", "ае", "аж", "аз", "аи", "ак", "ал", "ам", "ан", "ао", "ап",
+            "га", "гб", "гв", "гг", "гд", "ге", "гж", "гз", "ги", "гй", "гк", "гл"
+    };
+    private static final String[] PREFIXES = {"ПО", "НЕ", "ВЫ", "ПЕРЕ", "РАЗ"};
+
+    public final int paradigms;
+    public final int lexemes;
+    public final int maxForms;
+    public final double skew;
+    public final double homonymDensity;
+    public final long seed;
+
+    /**
+     * @param paradigms number of paradigms
+     * @param lexemes number of lexemes
+     * @param maxForms maximal number of forms in paradigm, actual number is chosen uniformly from 2 to maxForms
+     * @param skew exponent of letter distribution, 0 for uniform
+     * @param homonymDensity share of lexemes with the same basis as some other lexeme, from 0 to 1
+     */
+    public SyntheticMrd(int paradigms, int lexemes, int maxForms, double skew, double homonymDensity, long seed) {
+        if(paradigms < 1 || lexemes < 0 || maxForms < 2) {
+            throw new IllegalArgumentException("Bad size of dictionary: " + paradigms + " paradigms, " + lexemes + " lexemes, " + maxForms + " forms");
+        }
+        if(homonymDensity < 0 || homonymDensity > 1) {
+            throw new IllegalArgumentException("Homonym density should be between 0 and 1: " + homonymDensity);
+        }
+        this.paradigms = paradigms;
+        this.lexemes = lexemes;
+        this.maxForms = maxForms;
+        this.skew = skew;
+        this.homonymDensity = homonymDensity;
+        this.seed = seed;
+    }
+
+    /**
+     * Dictionary of given number of lexemes with default shape: 5 lexemes per paradigm, up to 24 forms, letter
+     * skew 1 and 5% of homonyms
+     */
+    public static SyntheticMrd ofSize(int lexemes) {
+        return new SyntheticMrd(Math.max(1, lexemes / 5), lexemes, 24, 1, 0.05, 42);
+    }
+
+    public String generate() {
+        StringWriter result = new StringWriter();
+        try {
+            write(result);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);   // Never happens for string writer
+        }
+        return result.toString();
+    }
+
+    public void write(Writer out) throws IOException {
+        Random random = new Random(seed);
+        double[] letterWeights = zipf(LETTERS.length(), skew);
+        double[] paradigmWeights = zipf(paradigms, 1);
+
+        // Paradigms and their accent models
+        int[] formCounts = new int[paradigms];
+        out.write(paradigms + "\n");
+        for (int i = 0; i < paradigms; i++) {
+            formCounts[i] = 2 + random.nextInt(maxForms - 1);
+            int firstAncode = random.nextInt(ANCODES.length);
+            Set<String> endings = new HashSet<>();
+            StringBuilder line = new StringBuilder();
+            for (int formNum = 0; formNum < formCounts[i]; formNum++) {
+                String ending = word(random, letterWeights, formNum == 0 ? 0 : 1, 3);
+                for (int attempt = 0; !endings.add(ending) && attempt < 100; attempt++) {
+                    ending = word(random, letterWeights, 1, 3);
+                }
+                line.append('%').append(ending).append('*').append(ANCODES[(firstAncode + formNum) % ANCODES.length]);
+            }
+            out.write(line.append('\n').toString());
+        }
+
+        out.write(paradigms + "\n");
+        for (int i = 0; i < paradigms; i++) {
+            StringBuilder line = new StringBuilder();
+            for (int formNum = 0; formNum < formCounts[i]; formNum++) {
+                line.append(random.nextInt(8) == 0 ? 255 : random.nextInt(2)).append(';');
+            }
+            out.write(line.append('\n').toString());
+        }
+
+        out.write("1\nsynthetic;1;1\n");
+
+        out.write(PREFIXES.length + "\n");
+        for (String prefix : PREFIXES) {
+            out.write(prefix + "\n");
+        }
+
+        // Lexemes
+        List<String> bases = new ArrayList<>();
+        out.write(lexemes + "\n");
+        for (int i = 0; i < lexemes; i++) {
+            String basis;
+            if(!bases.isEmpty() && random.nextDouble() < homonymDensity) {
+                basis = bases.get(random.nextInt(bases.size()));
+            }
+            else {
+                basis = word(random, letterWeights, 2, 8);
+                bases.add(basis);
+            }
+            int paradigm = sample(random, paradigmWeights);
+            String prefix = random.nextInt(50) == 0 ? String.valueOf(random.nextInt(PREFIXES.length)) : "-";
+            out.write(basis + " " + paradigm + " " + paradigm + " 0 - " + prefix + "\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * @return random word of length from minLength to maxLength, with at least one vowel if it's not empty
+     */
+    private static String word(Random random, double[] letterWeights, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append(LETTERS.charAt(sample(random, letterWeights)));
+        }
+        if(length > 0 && !hasVowel(result)) {
+            result.setCharAt(random.nextInt(length), VOWELS.charAt(random.nextInt(VOWELS.length())));
+        }
+        return result.toString();
+    }
+
+    private static boolean hasVowel(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if(VOWELS.indexOf(word.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return cumulative weights of Zipf distribution over n ranks
+     */
+    private static double[] zipf(int n, double exponent) {
+        double[] result = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            result[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            result[i] /= sum;
+        }
+        return result;
+    }
+
+    private static int sample(Random random, double[] cumulativeWeights) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(cumulativeWeights[middle] < value) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticMrd{" +
+                "paradigms=" + paradigms +
+                ", lexemes=" + lexemes +
+                ", maxForms=" + maxForms +
+                ", skew=" + skew +
+                ", homonymDensity=" + homonymDensity +
+                ", seed=" + seed +
+                '}';
+    }
+
+    /**
+     * Write dictionary to file
+     * <p>
+     * Usage: SyntheticMrd &lt;file&gt; &lt;lexemes&gt; [paradigms] [max forms] [skew] [homonym density] [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("Usage: SyntheticMrd <file> <lexemes> [paradigms] [max forms] [skew] [homonym density] [seed]");
+            System.exit(1);
+        }
+        int lexemes = Integer.parseInt(args[1]);
+        SyntheticMrd generator = new SyntheticMrd(
+                args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, lexemes / 5),
+                lexemes,
+                args.length > 3 ? Integer.parseInt(args[3]) : 24,
+                args.length > 4 ? Double.parseDouble(args[4]) : 1,
+                args.length > 5 ? Double.parseDouble(args[5]) : 0.05,
+                args.length > 6 ? Long.parseLong(args[6]) : 42
+        );
+        try(Writer out = Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            generator.write(out);
+        }
+    }
+}
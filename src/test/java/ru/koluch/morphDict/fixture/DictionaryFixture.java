@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:52
+ */
+package ru.koluch.morphDict.fixture;
+
+import ru.koluch.morphDict.dictionary.DictionaryHelper;
+import ru.koluch.morphDict.dictionary.data.Dictionary;
+import ru.koluch.morphDict.lookup.PrefixTreeLookupService;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Dictionary shared by all tests of JVM. It's loaded on first use and never rebuilt, so tests must not modify
+ * it: tests, which need to change dictionary or index, should build their own.
+ * <p>
+ * Full AOT dictionary is used, when morphs.mrd is on classpath; otherwise small bundled dictionary
+ * mini-morphs.mrd is used, which has only the words tests rely on
+ */
+public class DictionaryFixture {
+
+    public static final String FULL_RESOURCE = "/morphs.mrd";
+    public static final String MINI_RESOURCE = "/mini-morphs.mrd";
+
+    /**
+     * @return raw content of dictionary file
+     */
+    public static byte[] bytes() {
+        return Content.BYTES.clone();
+    }
+
+    /**
+     * @return new stream over dictionary file
+     */
+    public static InputStream openStream() {
+        return new ByteArrayInputStream(Content.BYTES);
+    }
+
+    /**
+     * @return new reader over dictionary file
+     */
+    public static Reader openReader() {
+        return new InputStreamReader(openStream(), StandardCharsets.UTF_8);
+    }
+
+    public static Dictionary dictionary() {
+        return Index.DICTIONARY;
+    }
+
+    public static PrefixTree<DictionaryHelper.TreeData> tree() {
+        return Index.TREE;
+    }
+
+    public static PrefixTreeLookupService lookup() {
+        return Index.LOOKUP;
+    }
+
+    /**
+     * Holder of file content, loaded by JVM on first access
+     */
+    private static class Content {
+        static final byte[] BYTES = read();
+
+        private static byte[] read() {
+            InputStream in = DictionaryFixture.class.getResourceAsStream(FULL_RESOURCE);
+            if(in == null) {
+                in = DictionaryFixture.class.getResourceAsStream(MINI_RESOURCE);
+            }
+            try(InputStream resource = in) {
+                ByteArrayOutputStream result = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while((read = resource.read(buffer)) != -1) {
+                    result.write(buffer, 0, read);
+                }
+                return result.toByteArray();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Holder of parsed dictionary and index, built by JVM on first access
+     */
+    private static class Index {
+        static final Dictionary DICTIONARY;
+        static final PrefixTree<DictionaryHelper.TreeData> TREE;
+        static final PrefixTreeLookupService LOOKUP;
+
+        static {
+            try {
+                DICTIONARY = DictionaryHelper.parse(openReader());
+            } catch (DictionaryHelper.ParseException ex) {
+                throw new IllegalStateException("Bad test dictionary", ex);
+            }
+            TREE = DictionaryHelper.buildPrefixTree(DICTIONARY);
+            LOOKUP = new PrefixTreeLookupService(DICTIONARY, TREE);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2015 Nikolai Mavrenkov <koluch@koluch.ru>
+ * <p>
+ * Distributed under the MIT License (See accompanying file LICENSE or copy at http://opensource.org/licenses/MIT).
+ * <p>
+ * Created: 19.10.2026 19:20
+ */
+package ru.koluch.morphDict.verify;
+
+import ru.koluch.morphDict.lookup.LookupService;
+import ru.koluch.morphDict.lookup.data.LookupResult;
+import ru.koluch.morphDict.prefixTree.Alphabet;
+import ru.koluch.morphDict.prefixTree.PrefixTree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Checks, that alternative lookup services give the same results as reference one. Results are compared as
+ * sets, so services may order homonyms differently.
+ * <p>
+ * Words to check are usually all keys of reference prefix tree plus generated misses, see {@link #words}
+ */
+public class LookupEquivalence {
+
+    private final LookupService reference;
+    private final Map<String, LookupService> candidates = new LinkedHashMap<>();
+
+    public LookupEquivalence(LookupService reference) {
+        this.reference = reference;
+    }
+
+    /**
+     * Add service to compare with reference
+     */
+    public LookupEquivalence add(String name, LookupService candidate) {
+        candidates.put(name, candidate);
+        return this;
+    }
+
+    /**
+     * Collect all keys of tree and generate words, which are not keys of tree. Misses are made by changing,
+     * inserting or removing a letter of some key, so they share long prefixes with keys
+     *
+     * @param misses number of misses to generate
+     * @param seed seed of random generator, so the same words are made every time
+     */
+    public static List<String> words(PrefixTree<?> tree, int misses, long seed) {
+        List<String> result = new ArrayList<>();
+        tree.forEach((key, data) -> result.add(key));
+        Set<String> keys = new HashSet<>(result);
+        if(keys.isEmpty()) {
+            return result;
+        }
+
+        Alphabet alphabet = tree.getAlphabet();
+        Random random = new Random(seed);
+        int keyCount = result.size();
+        for (int attempts = 0, made = 0; made < misses && attempts < misses * 10; attempts++) {
+            StringBuilder word = new StringBuilder(result.get(random.nextInt(keyCount)));
+            int position = random.nextInt(word.length() + 1);
+            char letter = alphabet.letter(random.nextInt(alphabet.size()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    if(position < word.length()) {
+                        word.setCharAt(position, letter);
+                    }
+                    break;
+                case 1:
+                    word.insert(position, letter);
+                    break;
+                default:
+                    if(position < word.length()) {
+                        word.deleteCharAt(position);
+                    }
+            }
+            if(keys.add(word.toString())) {
+                result.add(word.toString());
+                made++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compare services on all words in parallel
+     *
+     * @param maxDivergences maximal number of divergences to report
+     * @return divergences for the first words in order of collection, empty if services are equivalent
+     */
+    public List<Divergence> check(Collection<String> words, int maxDivergences) {
+        List<String> wordList = new ArrayList<>(words);
+        ConcurrentLinkedQueue<Divergence> found = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, wordList.size()).parallel().forEach(i -> {
+            String word = wordList.get(i);
+            List<String> expected = describe(reference, word);
+            for (Map.Entry<String, LookupService> candidate : candidates.entrySet()) {
+                List<String> actual = describe(candidate.getValue(), word);
+                if(!actual.equals(expected)) {
+                    found.add(new Divergence(i, candidate.getKey(), word, expected, actual));
+                }
+            }
+        });
+
+        List<Divergence> result = new ArrayList<>(found);
+        result.sort(Comparator.comparingInt((Divergence divergence) -> divergence.wordNum).thenComparing(divergence -> divergence.service));
+        return result.size() > maxDivergences ? new ArrayList<>(result.subList(0, maxDivergences)) : result;
+    }
+
+    /**
+     * @return sorted descriptions of lookup results, or description of thrown exception
+     */
+    private static List<String> describe(LookupService service, String word) {
+        List<LookupResult> results;
+        try {
+            results = service.lookup(word);
+        } catch (RuntimeException ex) {
+            return Collections.singletonList("exception " + ex.getClass().getName());
+        }
+        List<String> result = new ArrayList<>(results.size());
+        for (LookupResult lookupResult : results) {
+            result.add(lookupResult.wordForm.makeWord()
+                    + " " + lookupResult.wordForm.ancode
+                    + " " + lookupResult.wordForm.stress
+                    + " " + lookupResult.lexeme.homonyms.get(0).makeWord()
+                    + " " + lookupResult.lexeme.homonyms.size()
+                    + " " + lookupResult.lexeme.commonAncode.orElse("-"));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Different results of candidate service for some word
+     * <p>
+     * Immutable data-class
+     */
+    public static class Divergence {
+
+        /**
+         * Number of word in checked collection
+         */
+        public final int wordNum;
+
+        public final String service;
+
+        public final String word;
+
+        public final List<String> expected;
+
+        public final List<String> actual;
+
+        public Divergence(int wordNum, String service, String word, List<String> expected, List<String> actual) {
+            this.wordNum = wordNum;
+            this.service = service;
+            this.word = word;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        @Override
+        public String toString() {
+            return service + ": '" + word + "' expected " + expected + ", actual " + actual;
+        }
+    }
+}